@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Measures the time from JVM launch to the first successful request, with and without the fast-startup mode.
+#
+#   scripts/measure-startup.sh [runs]
+#
+# Expects the distribution from `scripts/fast-startup.sh build`. Each run starts a fresh JVM on a free port and
+# polls GET /repositories?limit=1, which goes through JPA and H2 without calling GitHub, until it answers 200.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+JAR=$(ls target/explorer-*.jar)
+
+if [[ ! -f target/fast-startup/application.jsa ]]; then
+  echo "Run scripts/fast-startup.sh build first" >&2
+  exit 1
+fi
+
+# Prints the milliseconds until the first 200 from the application started by the given command
+time_to_first_request() {
+  local start end pid
+  start=$(date +%s%N)
+  "$@" --server.port="$PORT" --logging.level.root=WARN > /dev/null 2>&1 &
+  pid=$!
+  until curl -fso /dev/null "http://localhost:$PORT/repositories?limit=1"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "Application exited before answering" >&2
+      return 1
+    fi
+    sleep 0.01
+  done
+  end=$(date +%s%N)
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  echo $(((end - start) / 1000000))
+}
+
+measure() {
+  local name=$1
+  shift
+  local times=()
+  for ((i = 0; i < RUNS; i++)); do
+    times+=("$(time_to_first_request "$@")")
+  done
+  local sorted
+  sorted=$(printf '%s\n' "${times[@]}" | sort -n)
+  printf '%-14s median %6d ms   min %6d ms   max %6d ms   (%d runs)\n' "$name" \
+    "$(sed -n "$(((RUNS + 1) / 2))p" <<< "$sorted")" "$(head -1 <<< "$sorted")" "$(tail -1 <<< "$sorted")" "$RUNS"
+}
+
+measure default java -jar "$JAR"
+# Started from the distribution directory, since the CDS archive only matches the class path it was trained with
+measure fast-startup scripts/fast-startup.sh run
@@ -0,0 +1,65 @@
+package com.github.explorer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.explorer.module.Github;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization cost of the {@link Github} entity, using an {@link ObjectMapper} configured
+ * the way Spring Boot configures the one used by the controllers and the upstream client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GithubJsonBenchmark {
+
+    private static final byte[] UPSTREAM_PAYLOAD = """
+            {"id":1296269,"node_id":"MDEwOlJlcG9zaXRvcnkxMjk2MjY5","name":"Hello-World",\
+            "full_name":"octocat/Hello-World","private":false,"description":"My first repository on GitHub!",\
+            "fork":false,"clone_url":"https://github.com/octocat/Hello-World.git","stargazers_count":2500,\
+            "watchers_count":2500,"language":null,"forks_count":2000,"open_issues_count":1000,\
+            "created_at":"2011-01-26T19:01:12Z","updated_at":"2024-07-26T16:31:00Z"}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private ObjectMapper objectMapper;
+    private Github github;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        github = new Github();
+        github.setId("octocat/Hello-World");
+        github.setFullName("octocat/Hello-World");
+        github.setDescription("My first repository on GitHub!");
+        github.setCloneUrl("https://github.com/octocat/Hello-World.git");
+        github.setStars(2500);
+        github.setCreatedAt(LocalDateTime.of(2011, 1, 26, 19, 1, 12));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(github);
+    }
+
+    @Benchmark
+    public Github deserializeUpstreamPayload() throws Exception {
+        return objectMapper.readValue(UPSTREAM_PAYLOAD, Github.class);
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.explorer.benchmark;
+
+import com.github.explorer.cache.CacheProperties;
+import com.github.explorer.cache.RepositoryCache;
+import com.github.explorer.module.Github;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retained heap per entry and hit latency of {@link RepositoryCache} with the Caffeine and the compact backend.
+ * <p>
+ * The setup fills the cache with {@code entries} synthetic repositories spread over {@code owners} owners, shaped
+ * like GitHub responses, and prints the heap retained per entry after a full GC. The benchmark method then
+ * measures what a hit costs with each backend, including the copy the compact store builds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class RepositoryFootprintBenchmark {
+
+    private static final int SAMPLE_SIZE = 4_096;
+
+    @Param({"caffeine", "compact"})
+    public String backend;
+
+    @Param({"1000000"})
+    public int entries;
+
+    @Param({"50000"})
+    public int owners;
+
+    private RepositoryCache cache;
+    private String[] sample;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        CacheProperties properties = new CacheProperties();
+        properties.setMaximumSize(entries);
+        properties.setTimeToLive(Duration.ofDays(1));
+        properties.getCompact().setEnabled("compact".equals(backend));
+
+        long before = retainedHeap();
+        cache = new RepositoryCache(properties);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < entries; i++) {
+            // Each entry gets its own strings, as it would after being decoded from a GitHub response
+            String id = owner(random) + "/repository-" + i;
+            cache.put(new String(id), repository(id, random));
+        }
+        long after = retainedHeap();
+        System.out.printf("%n%s: %,d entries retain %,d bytes, %d bytes per entry%n",
+                backend, entries, after - before, (after - before) / entries);
+
+        sample = new String[SAMPLE_SIZE];
+        SplittableRandom replay = new SplittableRandom(42);
+        for (int i = 0; i < entries && i < SAMPLE_SIZE; i++) {
+            sample[i] = owner(replay) + "/repository-" + i;
+            repository(sample[i], replay);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Github cacheHit() {
+        return cache.get(sample[ThreadLocalRandom.current().nextInt(Math.min(entries, SAMPLE_SIZE))]);
+    }
+
+    private String owner(SplittableRandom random) {
+        // Skewed towards a few prolific owners, like real repository ids
+        double skew = random.nextDouble();
+        return "owner-" + (int) (owners * skew * skew * skew);
+    }
+
+    private static Github repository(String id, SplittableRandom random) {
+        Github github = new Github();
+        github.setId(id);
+        github.setFullName(id);
+        github.setDescription(random.nextInt(5) == 0 ? null : "A synthetic repository used to measure footprint");
+        github.setCloneUrl("https://github.com/" + id + ".git");
+        github.setStars(random.nextInt(100_000));
+        github.setCreatedAt(LocalDateTime.of(2015, 1, 1, 0, 0).plusSeconds(random.nextInt(300_000_000)));
+        github.setFetchedAt(Instant.ofEpochMilli(1_700_000_000_000L + random.nextInt(1_000_000_000)));
+        byte[] digest = new byte[32];
+        random.nextBytes(digest);
+        github.setEtag("W/\"" + HexFormat.of().formatHex(digest) + "\"");
+        github.setLastModified("Tue, 02 Jan 2024 03:04:05 GMT");
+        return github;
+    }
+
+    private static long retainedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        // Repeat until a collection frees nothing more, so only reachable objects are counted
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long current = memory.getHeapMemoryUsage().getUsed();
+            if (current >= used) {
+                break;
+            }
+            used = current;
+        }
+        return used;
+    }
+}
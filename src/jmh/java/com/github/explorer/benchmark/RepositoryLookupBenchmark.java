@@ -0,0 +1,101 @@
+package com.github.explorer.benchmark;
+
+import com.github.explorer.ExplorerApplication;
+import com.github.explorer.module.Github;
+import com.github.explorer.service.GithubRepositoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and latency of {@link GithubRepositoryService#getRepositoryDetails(String, String)} against the
+ * real Spring context and H2, with GitHub replaced by {@link StubUpstream}.
+ * <p>
+ * Run with {@code -prof gc} (the profile default) to also report the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryLookupBenchmark {
+
+    private static final int HOT_SET_SIZE = 1_000;
+
+    /**
+     * Simulated GitHub latency for misses.
+     */
+    @Param({"0", "50000"})
+    public long upstreamLatencyMicros;
+
+    /**
+     * Percentage of mixed-workload lookups that go to a repository not seen before.
+     */
+    @Param({"10"})
+    public int missPercentage;
+
+    private ConfigurableApplicationContext context;
+    private GithubRepositoryService service;
+    private final AtomicLong coldCounter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(ExplorerApplication.class)
+                .web(WebApplicationType.NONE)
+                // Passed as arguments rather than default properties so they win over application.yaml
+                .run("--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--explorer.cache.maximum-size=100000",
+                        "--explorer.upstream.rate-limit.requests-per-second=1000000000",
+                        "--explorer.upstream.rate-limit.burst=1000000000");
+        service = context.getBean(GithubRepositoryService.class);
+        service.setRestTemplate(StubUpstream.restTemplate(upstreamLatencyMicros));
+        for (int i = 0; i < HOT_SET_SIZE; i++) {
+            service.getRepositoryDetails("hot", "repository-" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Github cacheHit() {
+        return service.getRepositoryDetails("hot", "repository-0");
+    }
+
+    @Benchmark
+    public Github cacheMiss() {
+        return service.getRepositoryDetails("cold", "repository-" + coldCounter.incrementAndGet());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Github mixedWorkload() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(100) < missPercentage) {
+            return service.getRepositoryDetails("cold", "repository-" + coldCounter.incrementAndGet());
+        }
+        return service.getRepositoryDetails("hot", "repository-" + random.nextInt(HOT_SET_SIZE));
+    }
+}
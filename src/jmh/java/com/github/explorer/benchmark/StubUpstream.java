@@ -0,0 +1,44 @@
+package com.github.explorer.benchmark;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process stand-in for the GitHub API: answers every repository request with a synthetic payload
+ * after a fixed latency, without touching the network.
+ */
+final class StubUpstream {
+
+    private static final String PAYLOAD = """
+            {"id":1296269,"full_name":"%s","description":"Synthetic repository for benchmarks",\
+            "clone_url":"https://github.com/%s.git","stargazers_count":%d,"created_at":"2011-01-26T19:01:12Z"}""";
+
+    private StubUpstream() {
+    }
+
+    static RestTemplate restTemplate(long latencyMicros) {
+        ClientHttpRequestFactory requestFactory = (uri, method) -> {
+            if (latencyMicros > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+            }
+            String fullName = uri.getPath().substring("/repos/".length());
+            byte[] body = PAYLOAD.formatted(fullName, fullName, fullName.hashCode() & 0xffff)
+                    .getBytes(StandardCharsets.UTF_8);
+            MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setETag("\"" + Integer.toHexString(fullName.hashCode()) + "\"");
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(response);
+            return request;
+        };
+        return new RestTemplate(requestFactory);
+    }
+}
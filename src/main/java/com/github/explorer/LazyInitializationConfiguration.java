@@ -0,0 +1,25 @@
+package com.github.explorer;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Keeps scheduled beans eager when {@code spring.main.lazy-initialization} is on.
+ * <p>
+ * Nothing else asks for a bean like the refresh sweeper, so it would never be created and its schedule would
+ * never run. Every other bean is created on first use.
+ */
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfiguration {
+
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
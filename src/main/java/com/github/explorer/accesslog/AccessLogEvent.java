@@ -0,0 +1,30 @@
+package com.github.explorer.accesslog;
+
+/**
+ * One completed HTTP request.
+ *
+ * @param timestamp      when the request started, in epoch milliseconds
+ * @param method         the HTTP method
+ * @param path           the request path, without the query string
+ * @param status         the response status
+ * @param durationMicros the time spent handling the request
+ * @param reason         why the request was recorded
+ */
+public record AccessLogEvent(long timestamp, String method, String path, int status, long durationMicros,
+                             Reason reason) {
+
+    public enum Reason {
+        /**
+         * The response status was 4xx or 5xx.
+         */
+        ERROR,
+        /**
+         * The request took at least the slow threshold.
+         */
+        SLOW,
+        /**
+         * A successful, fast request picked by sampling.
+         */
+        SAMPLED
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.explorer.accesslog;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records one {@link AccessLogEvent} per request: always for errors and slow requests, and for a sampled
+ * share of the rest. The event is handed to the {@link AccessLogWriter}; nothing is formatted or written here.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLogProperties properties;
+    private final AccessLogWriter accessLogWriter;
+
+    public AccessLogFilter(AccessLogProperties properties, AccessLogWriter accessLogWriter) {
+        this.properties = properties;
+        this.accessLogWriter = accessLogWriter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            AccessLogEvent.Reason reason = reason(status, durationNanos);
+            if (reason != null) {
+                accessLogWriter.offer(new AccessLogEvent(timestamp, request.getMethod(), request.getRequestURI(),
+                        status, TimeUnit.NANOSECONDS.toMicros(durationNanos), reason));
+            }
+        }
+    }
+
+    private AccessLogEvent.Reason reason(int status, long durationNanos) {
+        if (status >= 400) {
+            return AccessLogEvent.Reason.ERROR;
+        }
+        if (durationNanos >= properties.getSlowThreshold().toNanos()) {
+            return AccessLogEvent.Reason.SLOW;
+        }
+        double sampleRate = properties.getSampleRate();
+        if (sampleRate > 0 && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            return AccessLogEvent.Reason.SAMPLED;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.explorer.accesslog;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the asynchronous access log, bound from {@code explorer.access-log.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "explorer.access-log")
+public class AccessLogProperties {
+
+    /**
+     * Whether requests are recorded at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of events the ring buffer holds; rounded up to a power of two. Events are dropped when it is full.
+     */
+    private int capacity = 8192;
+
+    /**
+     * Share of successful, fast requests that are recorded, between 0 and 1. Errors and slow requests are always recorded.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Requests taking at least this long are always recorded.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * How long the writer sleeps when the buffer is empty.
+     */
+    private Duration idleWait = Duration.ofMillis(10);
+}
@@ -0,0 +1,135 @@
+package com.github.explorer.accesslog;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes access log events on a background thread, so request threads only pay for a ring-buffer insert.
+ * <p>
+ * Events go to the {@code access} logger as one key=value line each. When the buffer is full, events are
+ * dropped and counted rather than slowing requests down. Stopping the context writes what is left.
+ */
+@Component
+public class AccessLogWriter implements SmartLifecycle, MeterBinder {
+
+    private static final Logger ACCESS_LOGGER = LoggerFactory.getLogger("access");
+
+    /**
+     * Lifecycle phase below the embedded web server's, so events of requests finishing during a graceful
+     * shutdown are still written.
+     */
+    static final int PHASE = 0;
+
+    private final AccessLogProperties properties;
+    private final RingBuffer<AccessLogEvent> buffer;
+    private final LongAdder dropped = new LongAdder();
+    private final StringBuilder line = new StringBuilder(160);
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AccessLogWriter(AccessLogProperties properties) {
+        this.properties = properties;
+        this.buffer = new RingBuffer<>(properties.getCapacity());
+    }
+
+    /**
+     * Queues an event for writing. Never blocks.
+     *
+     * @param event the event to write
+     * @return false if the event was dropped because the buffer is full
+     */
+    public boolean offer(AccessLogEvent event) {
+        if (buffer.offer(event)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("explorer.access_log.queued", buffer, RingBuffer::size)
+                .description("Access log events waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("explorer.access_log.dropped", dropped, LongAdder::sum)
+                .description("Access log events dropped because the buffer was full")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("access-log-writer").daemon().start(this::drainLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void drainLoop() {
+        long idleNanos = properties.getIdleWait().toNanos();
+        while (running) {
+            if (!drain()) {
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+        drain();
+    }
+
+    private boolean drain() {
+        boolean wrote = false;
+        AccessLogEvent event;
+        while ((event = buffer.poll()) != null) {
+            write(event);
+            wrote = true;
+        }
+        return wrote;
+    }
+
+    private void write(AccessLogEvent event) {
+        if (!ACCESS_LOGGER.isInfoEnabled()) {
+            return;
+        }
+        line.setLength(0);
+        line.append("time=").append(Instant.ofEpochMilli(event.timestamp()))
+                .append(" method=").append(event.method())
+                .append(" path=").append(event.path())
+                .append(" status=").append(event.status())
+                .append(" duration_us=").append(event.durationMicros())
+                .append(" reason=").append(event.reason().name().toLowerCase(Locale.ROOT));
+        ACCESS_LOGGER.info(line.toString());
+    }
+}
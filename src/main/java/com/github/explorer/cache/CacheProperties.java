@@ -0,0 +1,120 @@
+package com.github.explorer.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-process repository cache, bound from {@code explorer.cache.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "explorer.cache")
+public class CacheProperties {
+
+    /**
+     * Maximum number of repositories held in the L1 cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long an entry stays in the L1 cache after it was written.
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+    /**
+     * How long a request waits for a load of the same repository that another request already started.
+     */
+    private Duration loadWaitTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Age after which a repository is still served but refreshed in the background.
+     */
+    private Duration softTtl = Duration.ofHours(1);
+
+    /**
+     * Age after which a repository is revalidated against GitHub before it is served.
+     */
+    private Duration hardTtl = Duration.ofHours(24);
+
+    /**
+     * Cache of recent not-found answers from GitHub.
+     */
+    private Negative negative = new Negative();
+
+    /**
+     * Background refresh of entries that are stale or about to become stale.
+     */
+    private Refresh refresh = new Refresh();
+
+    /**
+     * Pre-encoded response bodies kept next to cached repositories.
+     */
+    private Response response = new Response();
+
+    /**
+     * Column-oriented storage for the L1 cache.
+     */
+    private Compact compact = new Compact();
+
+    @Data
+    public static class Negative {
+
+        /**
+         * Maximum number of not-found repository ids remembered.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * How long a not-found answer is trusted before GitHub is asked again.
+         */
+        private Duration timeToLive = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Refresh {
+
+        /**
+         * Delay between two sweeps for entries close to expiry.
+         */
+        private Duration sweepInterval = Duration.ofMinutes(1);
+
+        /**
+         * How long before the soft TTL an entry is picked up by the sweeper.
+         */
+        private Duration sweepAhead = Duration.ofMinutes(5);
+
+        /**
+         * Maximum number of entries queued for refresh by a single sweep.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Maximum number of background refreshes queued or running at once.
+         */
+        private int maxPending = 256;
+    }
+
+    @Data
+    public static class Response {
+
+        /**
+         * Whether to also keep a gzip-compressed body for clients that accept it.
+         */
+        private boolean gzip = true;
+
+        /**
+         * Smallest JSON body, in bytes, that is worth compressing.
+         */
+        private int gzipMinSize = 256;
+    }
+
+    @Data
+    public static class Compact {
+
+        /**
+         * Whether to keep L1 entries in primitive columns with interned owners instead of one object per entry.
+         */
+        private boolean enabled = false;
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.explorer.cache;
+
+/**
+ * A point-in-time snapshot of a cache's counters.
+ *
+ * @param hits      lookups that found an entry
+ * @param misses    lookups that found nothing
+ * @param evictions entries removed by the size or time bound
+ * @param size      the approximate number of entries
+ */
+public record CacheStatistics(long hits, long misses, long evictions, long size) {
+
+    static CacheStatistics of(com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+        var stats = cache.stats();
+        return new CacheStatistics(stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize());
+    }
+}
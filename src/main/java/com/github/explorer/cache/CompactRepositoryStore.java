@@ -0,0 +1,469 @@
+package com.github.explorer.cache;
+
+import com.github.explorer.module.Github;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-capacity repository store that keeps every entry in primitive columns instead of a {@link Github} object.
+ * <p>
+ * Owners are interned, so all repositories of one owner share a single string. Timestamps are kept as epoch
+ * values at the precision GitHub and the freshness checks use: seconds for the creation time and the
+ * {@code Last-Modified} validator, milliseconds for the fetch time. A hex digest ETag is kept as four longs.
+ * Fields that can be derived are not stored: the id is rebuilt from owner and name, the full name
+ * is only kept if it differs from the id, and the clone URL only if it differs from
+ * {@code https://github.com/{fullName}.git}. Lookups go through an open-addressing index of slot numbers. When
+ * the store is full, a CLOCK sweep evicts an entry that has expired or was not read since the last sweep.
+ * <p>
+ * {@link #get(String)} builds a new {@link Github} on every hit, trading a short-lived allocation for a
+ * retained footprint several times smaller.
+ */
+final class CompactRepositoryStore {
+
+    private static final long NONE = Long.MIN_VALUE;
+    private static final String CLONE_URL_PREFIX = "https://github.com/";
+    private static final String CLONE_URL_SUFFIX = ".git";
+    private static final DateTimeFormatter HTTP_DATE =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).withZone(ZoneOffset.UTC);
+
+    private static final byte FULL_NAME_IS_ID = 1;
+    private static final byte CLONE_URL_DERIVED = 2;
+    private static final byte ETAG_DIGEST = 4;
+    private static final byte ETAG_WEAK = 8;
+
+    private static final String WEAK_PREFIX = "W/";
+    private static final int DIGEST_HEX_LENGTH = 64;
+    private static final int DIGEST_LONGS = DIGEST_HEX_LENGTH / 16;
+
+    private final int capacity;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Index from hashed id to slot + 1; 0 marks an empty bucket
+    private final int[] index;
+    private final int mask;
+
+    // One column per field, indexed by slot; an owner of -1 marks a free slot
+    private final int[] hashes;
+    private final int[] owners;
+    private final String[] names;
+    private final byte[] flags;
+    private final String[] fullNames;
+    private final String[] descriptions;
+    private final String[] cloneUrls;
+    private final int[] stars;
+    private final long[] createdAt;
+    private final long[] fetchedAt;
+    private final String[] etags;
+    private final long[] etagDigests;
+    private final long[] lastModified;
+    private final String[] lastModifiedText;
+    private final long[] writtenAt;
+    private final boolean[] referenced;
+
+    private final OwnerTable ownerTable = new OwnerTable();
+    private final int[] freeSlots;
+    private int freeCount;
+    private int clockHand;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    CompactRepositoryStore(int capacity, long timeToLiveNanos, LongSupplier nanoClock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.nanoClock = nanoClock;
+        int buckets = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        this.index = new int[buckets];
+        this.mask = buckets - 1;
+        this.hashes = new int[capacity];
+        this.owners = new int[capacity];
+        this.names = new String[capacity];
+        this.flags = new byte[capacity];
+        this.fullNames = new String[capacity];
+        this.descriptions = new String[capacity];
+        this.cloneUrls = new String[capacity];
+        this.stars = new int[capacity];
+        this.createdAt = new long[capacity];
+        this.fetchedAt = new long[capacity];
+        this.etags = new String[capacity];
+        this.etagDigests = new long[capacity * DIGEST_LONGS];
+        this.lastModified = new long[capacity];
+        this.lastModifiedText = new String[capacity];
+        this.writtenAt = new long[capacity];
+        this.referenced = new boolean[capacity];
+        this.freeSlots = new int[capacity];
+        for (int slot = 0; slot < capacity; slot++) {
+            owners[slot] = -1;
+            freeSlots[slot] = capacity - 1 - slot;
+        }
+        this.freeCount = capacity;
+    }
+
+    /**
+     * Returns a copy of the stored repository, or null if it is absent or expired.
+     *
+     * @param repositoryId the {@code owner/repositoryName} id
+     * @return a new {@link Github} holding the stored details, or null
+     */
+    Github get(String repositoryId) {
+        int hash = hash(repositoryId);
+        lock.readLock().lock();
+        try {
+            int bucket = find(repositoryId, hash);
+            if (bucket < 0) {
+                misses.increment();
+                return null;
+            }
+            int slot = index[bucket] - 1;
+            if (isExpired(slot, nanoClock.getAsLong())) {
+                misses.increment();
+                return null;
+            }
+            // A lost update only makes the entry look colder to the next sweep
+            referenced[slot] = true;
+            hits.increment();
+            return materialize(slot, repositoryId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(String repositoryId, Github github) {
+        int hash = hash(repositoryId);
+        int separator = repositoryId.indexOf('/');
+        String owner = separator < 0 ? "" : repositoryId.substring(0, separator);
+        lock.writeLock().lock();
+        try {
+            int bucket = find(repositoryId, hash);
+            int slot;
+            if (bucket >= 0) {
+                slot = index[bucket] - 1;
+            } else {
+                slot = allocate();
+                hashes[slot] = hash;
+                owners[slot] = ownerTable.acquire(owner);
+                names[slot] = repositoryId.substring(separator + 1);
+                insert(slot, hash);
+            }
+            write(slot, repositoryId, github);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void invalidate(String repositoryId) {
+        int hash = hash(repositoryId);
+        lock.writeLock().lock();
+        try {
+            int bucket = find(repositoryId, hash);
+            if (bucket >= 0) {
+                release(bucket);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        return capacity - freeCount;
+    }
+
+    int ownerCount() {
+        lock.readLock().lock();
+        try {
+            return ownerTable.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    CacheStatistics stats() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    private void write(int slot, String repositoryId, Github github) {
+        String fullName = github.getFullName();
+        byte entryFlags = 0;
+        if (repositoryId.equals(fullName)) {
+            entryFlags |= FULL_NAME_IS_ID;
+            fullNames[slot] = null;
+        } else {
+            fullNames[slot] = fullName;
+        }
+        String cloneUrl = github.getCloneUrl();
+        if (fullName != null && cloneUrl != null && cloneUrl.length() == CLONE_URL_PREFIX.length() + fullName.length()
+                + CLONE_URL_SUFFIX.length() && cloneUrl.startsWith(CLONE_URL_PREFIX)
+                && cloneUrl.startsWith(fullName, CLONE_URL_PREFIX.length()) && cloneUrl.endsWith(CLONE_URL_SUFFIX)) {
+            entryFlags |= CLONE_URL_DERIVED;
+            cloneUrls[slot] = null;
+        } else {
+            cloneUrls[slot] = cloneUrl;
+        }
+        flags[slot] = (byte) (entryFlags | writeEtag(slot, github.getEtag()));
+        descriptions[slot] = github.getDescription();
+        stars[slot] = github.getStars();
+        createdAt[slot] = github.getCreatedAt() != null ? github.getCreatedAt().toEpochSecond(ZoneOffset.UTC) : NONE;
+        fetchedAt[slot] = github.getFetchedAt() != null ? github.getFetchedAt().toEpochMilli() : NONE;
+        writeLastModified(slot, github.getLastModified());
+        writtenAt[slot] = nanoClock.getAsLong();
+        referenced[slot] = true;
+    }
+
+    private byte writeEtag(int slot, String value) {
+        etags[slot] = null;
+        // GitHub validators are a quoted SHA-256 in lowercase hex, optionally weak: kept as four longs
+        boolean weak = value != null && value.startsWith(WEAK_PREFIX);
+        int start = weak ? WEAK_PREFIX.length() + 1 : 1;
+        if (value == null || value.length() != start + DIGEST_HEX_LENGTH + 1 || value.charAt(start - 1) != '"'
+                || value.charAt(value.length() - 1) != '"' || !isLowerHex(value, start, start + DIGEST_HEX_LENGTH)) {
+            etags[slot] = value;
+            return 0;
+        }
+        for (int i = 0; i < DIGEST_LONGS; i++) {
+            int from = start + i * 16;
+            etagDigests[slot * DIGEST_LONGS + i] = Long.parseUnsignedLong(value, from, from + 16, 16);
+        }
+        return weak ? (byte) (ETAG_DIGEST | ETAG_WEAK) : ETAG_DIGEST;
+    }
+
+    private String readEtag(int slot) {
+        if ((flags[slot] & ETAG_DIGEST) == 0) {
+            return etags[slot];
+        }
+        StringBuilder etag = new StringBuilder(WEAK_PREFIX.length() + DIGEST_HEX_LENGTH + 2);
+        if ((flags[slot] & ETAG_WEAK) != 0) {
+            etag.append(WEAK_PREFIX);
+        }
+        etag.append('"');
+        for (int i = 0; i < DIGEST_LONGS; i++) {
+            etag.append(HexFormat.of().toHexDigits(etagDigests[slot * DIGEST_LONGS + i]));
+        }
+        return etag.append('"').toString();
+    }
+
+    private static boolean isLowerHex(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeLastModified(int slot, String value) {
+        lastModified[slot] = NONE;
+        lastModifiedText[slot] = null;
+        if (value == null) {
+            return;
+        }
+        try {
+            long epochSecond = Instant.from(HTTP_DATE.parse(value)).getEpochSecond();
+            // Only the canonical form is stored as a number, so the validator is sent back byte for byte
+            if (HTTP_DATE.format(Instant.ofEpochSecond(epochSecond)).equals(value)) {
+                lastModified[slot] = epochSecond;
+                return;
+            }
+        } catch (DateTimeParseException e) {
+            // Kept as text below
+        }
+        lastModifiedText[slot] = value;
+    }
+
+    private Github materialize(int slot, String repositoryId) {
+        Github github = new Github();
+        github.setId(repositoryId);
+        String fullName = (flags[slot] & FULL_NAME_IS_ID) != 0 ? repositoryId : fullNames[slot];
+        github.setFullName(fullName);
+        github.setDescription(descriptions[slot]);
+        github.setCloneUrl((flags[slot] & CLONE_URL_DERIVED) != 0
+                ? CLONE_URL_PREFIX + fullName + CLONE_URL_SUFFIX
+                : cloneUrls[slot]);
+        github.setStars(stars[slot]);
+        if (createdAt[slot] != NONE) {
+            github.setCreatedAt(LocalDateTime.ofEpochSecond(createdAt[slot], 0, ZoneOffset.UTC));
+        }
+        if (fetchedAt[slot] != NONE) {
+            github.setFetchedAt(Instant.ofEpochMilli(fetchedAt[slot]));
+        }
+        github.setEtag(readEtag(slot));
+        github.setLastModified(lastModified[slot] != NONE
+                ? HTTP_DATE.format(Instant.ofEpochSecond(lastModified[slot]))
+                : lastModifiedText[slot]);
+        return github;
+    }
+
+    private boolean isExpired(int slot, long now) {
+        return now - writtenAt[slot] >= timeToLiveNanos;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        long now = nanoClock.getAsLong();
+        while (true) {
+            int slot = clockHand;
+            clockHand = clockHand + 1 == capacity ? 0 : clockHand + 1;
+            if (referenced[slot] && !isExpired(slot, now)) {
+                referenced[slot] = false;
+                continue;
+            }
+            release(findSlot(slot));
+            evictions.increment();
+            return freeSlots[--freeCount];
+        }
+    }
+
+    private void release(int bucket) {
+        int slot = index[bucket] - 1;
+        remove(bucket);
+        ownerTable.release(owners[slot]);
+        owners[slot] = -1;
+        names[slot] = null;
+        fullNames[slot] = null;
+        descriptions[slot] = null;
+        cloneUrls[slot] = null;
+        etags[slot] = null;
+        lastModifiedText[slot] = null;
+        referenced[slot] = false;
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int find(String repositoryId, int hash) {
+        for (int bucket = hash & mask; index[bucket] != 0; bucket = (bucket + 1) & mask) {
+            int slot = index[bucket] - 1;
+            if (hashes[slot] == hash && matches(slot, repositoryId)) {
+                return bucket;
+            }
+        }
+        return -1;
+    }
+
+    private int findSlot(int slot) {
+        int bucket = hashes[slot] & mask;
+        while (index[bucket] != slot + 1) {
+            bucket = (bucket + 1) & mask;
+        }
+        return bucket;
+    }
+
+    private boolean matches(int slot, String repositoryId) {
+        String owner = ownerTable.name(owners[slot]);
+        String name = names[slot];
+        return repositoryId.length() == owner.length() + 1 + name.length()
+                && repositoryId.startsWith(owner)
+                && repositoryId.charAt(owner.length()) == '/'
+                && repositoryId.endsWith(name);
+    }
+
+    private void insert(int slot, int hash) {
+        int bucket = hash & mask;
+        while (index[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        index[bucket] = slot + 1;
+    }
+
+    private void remove(int bucket) {
+        // Backward-shift deletion keeps every probe sequence free of holes without tombstones
+        int hole = bucket;
+        index[hole] = 0;
+        for (int next = (hole + 1) & mask; index[next] != 0; next = (next + 1) & mask) {
+            int home = hashes[index[next] - 1] & mask;
+            boolean movable = hole <= next ? home <= hole || home > next : home <= hole && home > next;
+            if (movable) {
+                index[hole] = index[next];
+                index[next] = 0;
+                hole = next;
+            }
+        }
+    }
+
+    private static int hash(String repositoryId) {
+        int hash = repositoryId.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Reference-counted owner names, so each distinct owner is held once and dropped with its last repository.
+     */
+    private static final class OwnerTable {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private int[] references = new int[16];
+        private int[] free = new int[16];
+        private int freeCount;
+
+        int acquire(String owner) {
+            Integer id = ids.get(owner);
+            if (id == null) {
+                if (freeCount > 0) {
+                    id = free[--freeCount];
+                    names.set(id, owner);
+                } else {
+                    id = names.size();
+                    names.add(owner);
+                    if (id == references.length) {
+                        references = Arrays.copyOf(references, id * 2);
+                    }
+                }
+                ids.put(owner, id);
+            }
+            references[id]++;
+            return id;
+        }
+
+        void release(int id) {
+            if (--references[id] == 0) {
+                ids.remove(names.get(id));
+                names.set(id, null);
+                if (freeCount == free.length) {
+                    free = Arrays.copyOf(free, freeCount * 2);
+                }
+                free[freeCount++] = id;
+            }
+        }
+
+        String name(int id) {
+            return names.get(id);
+        }
+
+        int size() {
+            return ids.size();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.explorer.cache;
+
+/**
+ * The JSON response body of a repository, encoded once and reused for every request that serves it.
+ *
+ * @param json the UTF-8 JSON body
+ * @param gzip the gzip-compressed body, or null if the body is too small to be worth compressing
+ * @param etag the strong entity tag of the JSON body, quoted
+ * @param gzipEtag the strong entity tag of the gzip-compressed body, quoted, or null if there is no such body
+ */
+public record EncodedRepository(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+}
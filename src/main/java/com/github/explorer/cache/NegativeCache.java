@@ -0,0 +1,55 @@
+package com.github.explorer.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers repositories that GitHub recently answered with a 404, so repeated lookups of
+ * typo'd or scraped ids are answered locally instead of spending rate limit.
+ * <p>
+ * Only genuine not-found answers belong here; transient upstream failures must never be recorded.
+ */
+@Component
+public class NegativeCache implements MeterBinder {
+
+    private final Cache<String, Boolean> cache;
+
+    public NegativeCache(CacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getNegative().getMaximumSize())
+                .expireAfterWrite(properties.getNegative().getTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns whether the repository was recently reported as not found.
+     *
+     * @param repositoryId the {@code owner/repositoryName} id
+     * @return true if a recent 404 is cached for the id
+     */
+    public boolean isKnownMissing(String repositoryId) {
+        return cache.getIfPresent(repositoryId) != null;
+    }
+
+    public void recordMissing(String repositoryId) {
+        cache.put(repositoryId, Boolean.TRUE);
+    }
+
+    public void invalidate(String repositoryId) {
+        cache.invalidate(repositoryId);
+    }
+
+    public CacheStatistics stats() {
+        return CacheStatistics.of(cache);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "notFound");
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.explorer.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.explorer.module.Github;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded L1 cache of repository details keyed by {@code owner/repositoryName}.
+ * <p>
+ * Sits in front of {@link com.github.explorer.repo.GithubRepository} so that a hit is served
+ * from the heap without opening a persistence context. With {@code explorer.cache.compact.enabled} the entries
+ * are kept in a {@link CompactRepositoryStore} instead of Caffeine, for deployments that hold millions of them.
+ */
+@Component
+public class RepositoryCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "repositories";
+
+    private final Cache<String, Github> cache;
+    private final CompactRepositoryStore compactStore;
+
+    public RepositoryCache(CacheProperties properties) {
+        if (properties.getCompact().isEnabled()) {
+            this.cache = null;
+            this.compactStore = new CompactRepositoryStore(Math.toIntExact(properties.getMaximumSize()),
+                    properties.getTimeToLive().toNanos(), System::nanoTime);
+        } else {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaximumSize())
+                    .expireAfterWrite(properties.getTimeToLive())
+                    .recordStats()
+                    .build();
+            this.compactStore = null;
+        }
+    }
+
+    /**
+     * Returns the cached repository, or null if it is not cached.
+     *
+     * @param repositoryId the {@code owner/repositoryName} id
+     * @return the cached repository details, or null
+     */
+    public Github get(String repositoryId) {
+        return compactStore != null ? compactStore.get(repositoryId) : cache.getIfPresent(repositoryId);
+    }
+
+    public void put(String repositoryId, Github github) {
+        if (compactStore != null) {
+            compactStore.put(repositoryId, github);
+        } else {
+            cache.put(repositoryId, github);
+        }
+    }
+
+    public void invalidate(String repositoryId) {
+        if (compactStore != null) {
+            compactStore.invalidate(repositoryId);
+        } else {
+            cache.invalidate(repositoryId);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss and eviction counters.
+     *
+     * @return the current cache statistics
+     */
+    public CacheStatistics stats() {
+        return compactStore != null ? compactStore.stats() : CacheStatistics.of(cache);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (compactStore == null) {
+            CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+            return;
+        }
+        // Same meter names as the Caffeine binder, so dashboards work with either backend
+        Gauge.builder("cache.size", compactStore, CompactRepositoryStore::size)
+                .tag("cache", CACHE_NAME)
+                .description("The number of entries in this cache")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", compactStore, CompactRepositoryStore::hitCount)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", compactStore, CompactRepositoryStore::missCount)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .description("The number of times cache lookup methods have returned an uncached value")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", compactStore, CompactRepositoryStore::evictionCount)
+                .tag("cache", CACHE_NAME)
+                .description("The number of times the cache was evicted")
+                .register(registry);
+        Gauge.builder("explorer.cache.compact.owners", compactStore, CompactRepositoryStore::ownerCount)
+                .description("Distinct owner names interned by the compact repository store")
+                .register(registry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.explorer.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Exposes the L1, negative and encoded-response cache counters at {@code /actuator/repositorycache}.
+ */
+@Component
+@Endpoint(id = "repositorycache")
+public class RepositoryCacheEndpoint {
+
+    private final RepositoryCache repositoryCache;
+    private final NegativeCache negativeCache;
+    private final RepositoryResponseCache responseCache;
+
+    public RepositoryCacheEndpoint(RepositoryCache repositoryCache, NegativeCache negativeCache,
+                                   RepositoryResponseCache responseCache) {
+        this.repositoryCache = repositoryCache;
+        this.negativeCache = negativeCache;
+        this.responseCache = responseCache;
+    }
+
+    @ReadOperation
+    public Map<String, CacheStatistics> stats() {
+        return Map.of("repositories", repositoryCache.stats(), "notFound", negativeCache.stats(),
+                "responses", responseCache.stats());
+    }
+}
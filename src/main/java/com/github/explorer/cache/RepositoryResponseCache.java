@@ -0,0 +1,108 @@
+package com.github.explorer.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.explorer.module.Github;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the encoded response body of each cached repository next to the entity, so a cache hit is written
+ * to the client without running Jackson again.
+ * <p>
+ * Entries are keyed by entity identity and held through weak keys: a refresh replaces the cached entity, and the
+ * encoding of the old instance is dropped together with it. The compact L1 store hands out a new copy on every hit,
+ * so in that mode entries are keyed by id, fetch time and upstream ETag instead, which change whenever the stored
+ * repository does. The ETag is a hash of the JSON body, so it is stable across restarts and only changes when the
+ * payload does.
+ */
+@Component
+public class RepositoryResponseCache implements MeterBinder {
+
+    private final Cache<Object, EncodedRepository> cache;
+    private final boolean keyedByVersion;
+    private final ObjectWriter writer;
+    private final CacheProperties.Response properties;
+
+    public RepositoryResponseCache(CacheProperties properties, ObjectMapper objectMapper) {
+        this.keyedByVersion = properties.getCompact().isEnabled();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .recordStats();
+        this.cache = (keyedByVersion ? builder : builder.weakKeys()).build();
+        this.writer = objectMapper.writerFor(Github.class);
+        this.properties = properties.getResponse();
+    }
+
+    /**
+     * Returns the encoded response body of a repository, encoding it on first use.
+     *
+     * @param github the repository as served
+     * @return the encoded body and its ETag
+     */
+    public EncodedRepository encode(Github github) {
+        Object key = keyedByVersion
+                ? new RepositoryVersion(github.getId(), github.getFetchedAt(), github.getEtag())
+                : github;
+        return cache.get(key, ignored -> encodeNow(github));
+    }
+
+    public CacheStatistics stats() {
+        return CacheStatistics.of(cache);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "responses");
+    }
+
+    private EncodedRepository encodeNow(Github github) {
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(github);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] gzip = properties.isGzip() && json.length >= properties.getGzipMinSize() ? gzip(json) : null;
+        String hash = hash(json);
+        // The gzip body is a different representation, so it gets its own strong entity tag
+        return new EncodedRepository(json, gzip, '"' + hash + '"', gzip == null ? null : "\"" + hash + "-gzip\"");
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            // 128 bits of the digest are plenty to tell payloads apart
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record RepositoryVersion(String id, Instant fetchedAt, String etag) {
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
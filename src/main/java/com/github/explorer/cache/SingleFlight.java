@@ -0,0 +1,84 @@
+package com.github.explorer.cache;
+
+import com.github.explorer.exception.UpstreamTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key so that only one caller runs the loader
+ * while every other caller waits for and shares its result.
+ * <p>
+ * The loader runs on the thread of the first caller, and waiters block on a
+ * {@link CompletableFuture} rather than a monitor, so this is safe to use from virtual threads.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the loader for the key, or joins the load that is already in flight for it.
+     *
+     * @param key         the key to load
+     * @param loader      computes the value; invoked at most once per concurrent group of callers
+     * @param waitTimeout how long a waiter blocks for an in-flight load before giving up
+     * @return the loaded value
+     * @throws UpstreamTimeoutException if a waiter gives up before the in-flight load completes
+     */
+    public V execute(K key, Supplier<V> loader, Duration waitTimeout) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            return await(key, existing, waitTimeout);
+        }
+
+        try {
+            V value = loader.get();
+            promise.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            promise.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, promise);
+        }
+    }
+
+    /**
+     * Returns the number of keys that currently have a load in flight.
+     *
+     * @return the in-flight key count
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(K key, CompletableFuture<V> future, Duration waitTimeout) {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new UpstreamTimeoutException(String.valueOf(key), waitTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamTimeoutException(String.valueOf(key), waitTimeout);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.explorer.cluster;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for sharding repositories across service instances, bound from {@code explorer.cluster.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "explorer.cluster")
+public class ClusterProperties {
+
+    /**
+     * Whether misses for repositories owned by another instance are forwarded to it instead of GitHub.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Base URL under which the other instances reach this one, e.g. {@code http://10.0.0.1:8080}.
+     */
+    private String self;
+
+    /**
+     * Base URLs of all instances; this one is added if missing. Every instance must list the same set.
+     */
+    private List<String> peers = new ArrayList<>();
+
+    /**
+     * Points per instance on the hash ring; more points spread repositories more evenly.
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * Maximum time to establish a connection to a peer.
+     */
+    private Duration connectTimeout = Duration.ofMillis(500);
+
+    /**
+     * Maximum time to wait for a peer's answer, which may include its own GitHub call.
+     */
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /**
+     * How long a peer that failed to answer is skipped before it is tried again.
+     */
+    private Duration failureBackoff = Duration.ofSeconds(10);
+}
@@ -0,0 +1,76 @@
+package com.github.explorer.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Consistent-hash ring that assigns each key to one of a fixed set of nodes.
+ * <p>
+ * Every node is placed on the ring at {@code virtualNodes} points, and a key belongs to the node at the first
+ * point at or after the key's own hash. Adding or removing a node therefore only moves the keys next to its
+ * points. Hashes are the first eight bytes of an MD5 digest, so every instance computes the same ring from the
+ * same node list.
+ */
+public final class HashRing {
+
+    private final long[] points;
+    private final String[] nodes;
+
+    public HashRing(Collection<String> nodes, int virtualNodes) {
+        Set<String> distinct = new LinkedHashSet<>(nodes);
+        if (distinct.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A hash ring needs at least one node and one point per node");
+        }
+        Point[] ring = new Point[distinct.size() * virtualNodes];
+        int i = 0;
+        for (String node : distinct) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                ring[i++] = new Point(hash(node + "#" + replica), node);
+            }
+        }
+        // Ties are broken by node name so that the order does not depend on the configured node order
+        Arrays.sort(ring, (a, b) -> a.hash != b.hash ? Long.compare(a.hash, b.hash) : a.node.compareTo(b.node));
+        this.points = new long[ring.length];
+        this.nodes = new String[ring.length];
+        for (i = 0; i < ring.length; i++) {
+            points[i] = ring[i].hash;
+            this.nodes[i] = ring[i].node;
+        }
+    }
+
+    /**
+     * Returns the node a key belongs to.
+     *
+     * @param key the key, e.g. an {@code owner/repositoryName} id
+     * @return the owning node
+     */
+    public String nodeFor(String key) {
+        int position = Arrays.binarySearch(points, hash(key));
+        if (position < 0) {
+            position = -position - 1;
+        }
+        return nodes[position == points.length ? 0 : position];
+    }
+
+    private static long hash(String value) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (digest[i] & 0xFF);
+        }
+        return hash;
+    }
+
+    private record Point(long hash, String node) {
+    }
+}
@@ -0,0 +1,237 @@
+package com.github.explorer.cluster;
+
+import com.github.explorer.exception.RepositoryNotFoundException;
+import com.github.explorer.module.Github;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Routes repository loads to the instance that owns them on a consistent-hash ring of peers.
+ * <p>
+ * With {@code explorer.cluster.enabled}, a repository this instance does not own is requested from its owner
+ * instead of GitHub, so each repository is fetched from GitHub by one instance only. Forwarded requests carry
+ * {@link #FORWARDED_HEADER} and are always served locally, so instances with diverging peer lists cannot bounce a
+ * request between them. Revalidations ask the owner to revalidate its own copy too. When the owner cannot be
+ * reached, the repository is loaded locally and the owner is skipped for {@code failure-backoff}.
+ */
+@Component
+public class PeerRouter implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PeerRouter.class);
+
+    /**
+     * Marks a request forwarded by a peer; its value is the forwarding instance's base URL.
+     */
+    public static final String FORWARDED_HEADER = "X-Explorer-Forwarded-By";
+
+    private static final String REPOSITORY_PATH = "/repositories/{owner}/{repositoryName}";
+
+    private static final ThreadLocal<Boolean> SERVING_FORWARDED = new ThreadLocal<>();
+
+    private final ClusterProperties properties;
+    private final String self;
+    private final HashRing ring;
+    private final RestTemplate restTemplate;
+    private final Map<String, Instant> backedOffUntil = new ConcurrentHashMap<>();
+
+    private final LongAdder forwarded = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    private Clock clock = Clock.systemUTC();
+
+    public PeerRouter(ClusterProperties properties, RestTemplateBuilder restTemplateBuilder) {
+        this.properties = properties;
+        if (!properties.isEnabled()) {
+            this.self = null;
+            this.ring = null;
+            this.restTemplate = null;
+            return;
+        }
+        if (properties.getSelf() == null || properties.getSelf().isBlank()) {
+            throw new IllegalStateException("explorer.cluster.self must be set when clustering is enabled");
+        }
+        this.self = normalize(properties.getSelf());
+        Set<String> nodes = new LinkedHashSet<>();
+        nodes.add(self);
+        properties.getPeers().forEach(peer -> nodes.add(normalize(peer)));
+        this.ring = new HashRing(nodes, properties.getVirtualNodes());
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(properties.getConnectTimeout())
+                .setReadTimeout(properties.getReadTimeout())
+                .build();
+        LOGGER.info("Sharding repositories across {} instances as {}", nodes.size(), self);
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return ring != null;
+    }
+
+    /**
+     * Returns the instance that owns a repository.
+     *
+     * @param repositoryId the {@code owner/repositoryName} id
+     * @return the owner's base URL, or null if clustering is disabled
+     */
+    public String ownerOf(String repositoryId) {
+        return ring != null ? ring.nodeFor(repositoryId) : null;
+    }
+
+    /**
+     * Asks the instance that owns a repository for its details.
+     *
+     * @param owner          the owner of the repository
+     * @param repositoryName the name of the repository
+     * @return the repository as served by its owner, or null if this instance should load it itself
+     * @throws RepositoryNotFoundException if the owner reports the repository as missing
+     */
+    public Github fetch(String owner, String repositoryName) {
+        return fetch(owner, repositoryName, false);
+    }
+
+    /**
+     * Asks the instance that owns a repository for its details, optionally as a revalidation.
+     * <p>
+     * A revalidation is sent with {@code Cache-Control: max-age=0}, so the owner revalidates its own copy against
+     * GitHub unless it is still fresh instead of handing back a copy that is just as stale.
+     *
+     * @param owner          the owner of the repository
+     * @param repositoryName the name of the repository
+     * @param revalidate     whether this instance's copy is being revalidated
+     * @return the repository as served by its owner, or null if this instance should load it itself
+     * @throws RepositoryNotFoundException if the owner reports the repository as missing
+     */
+    public Github fetch(String owner, String repositoryName, boolean revalidate) {
+        if (ring == null || Boolean.TRUE.equals(SERVING_FORWARDED.get())) {
+            return null;
+        }
+        String repositoryId = owner + "/" + repositoryName;
+        String peer = ring.nodeFor(repositoryId);
+        if (peer.equals(self)) {
+            return null;
+        }
+        Instant until = backedOffUntil.get(peer);
+        if (until != null) {
+            if (clock.instant().isBefore(until)) {
+                skipped.increment();
+                return null;
+            }
+            backedOffUntil.remove(peer, until);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(FORWARDED_HEADER, self);
+        if (revalidate) {
+            headers.setCacheControl(CacheControl.maxAge(Duration.ZERO));
+        }
+        try {
+            ResponseEntity<Github> response = restTemplate.exchange(peer + REPOSITORY_PATH, HttpMethod.GET,
+                    new HttpEntity<>(headers), Github.class, owner, repositoryName);
+            Github github = response.getBody();
+            if (github == null) {
+                throw new RestClientException("Empty response");
+            }
+            github.setId(repositoryId);
+            github.setFetchedAt(fetchedAt(response.getHeaders()));
+            forwarded.increment();
+            LOGGER.debug("Loaded {} from peer {}", repositoryId, peer);
+            return github;
+        } catch (HttpClientErrorException.NotFound e) {
+            notFound.increment();
+            throw new RepositoryNotFoundException(owner, repositoryName);
+        } catch (HttpStatusCodeException e) {
+            // The peer is up but could not serve this one, e.g. because its own GitHub budget is exhausted
+            failed.increment();
+            LOGGER.debug("Peer {} answered {} for {}, loading it locally", peer, e.getStatusCode(), repositoryId);
+            return null;
+        } catch (RestClientException e) {
+            failed.increment();
+            backedOffUntil.put(peer, clock.instant().plus(properties.getFailureBackoff()));
+            LOGGER.warn("Peer {} is unreachable ({}), loading its repositories locally for {}", peer,
+                    e.getMessage(), properties.getFailureBackoff());
+            return null;
+        }
+    }
+
+    /**
+     * Runs a lookup on behalf of a peer, which never forwards it again.
+     *
+     * @param lookup the lookup to run
+     * @param <T>    the lookup result type
+     * @return the lookup result
+     */
+    public <T> T serveForwarded(Supplier<T> lookup) {
+        SERVING_FORWARDED.set(Boolean.TRUE);
+        try {
+            return lookup.get();
+        } finally {
+            SERVING_FORWARDED.remove();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (ring == null) {
+            return;
+        }
+        bindForwards(registry, "found", forwarded);
+        bindForwards(registry, "not_found", notFound);
+        bindForwards(registry, "failed", failed);
+        bindForwards(registry, "skipped", skipped);
+    }
+
+    private static void bindForwards(MeterRegistry registry, String result, LongAdder counter) {
+        FunctionCounter.builder("explorer.cluster.forwards", counter, LongAdder::sum)
+                .tag("result", result)
+                .description("Loads of repositories owned by another instance, by how the owner answered")
+                .register(registry);
+    }
+
+    private Instant fetchedAt(HttpHeaders headers) {
+        Instant now = clock.instant();
+        String age = headers.getFirst(HttpHeaders.AGE);
+        if (age == null) {
+            return now;
+        }
+        try {
+            // The owner's copy keeps its age, so it is revalidated as soon as the owner's own copy would be
+            return now.minusSeconds(Math.max(0, Long.parseLong(age.trim())));
+        } catch (NumberFormatException e) {
+            return now;
+        }
+    }
+
+    private static String normalize(String baseUrl) {
+        String trimmed = baseUrl.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
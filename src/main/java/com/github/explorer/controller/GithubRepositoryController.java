@@ -1,49 +1,189 @@
 package com.github.explorer.controller;
 
 
+import com.github.explorer.cache.RepositoryResponseCache;
+import com.github.explorer.cluster.PeerRouter;
 import com.github.explorer.module.Github;
+import com.github.explorer.module.RepositoryLookupResult;
+import com.github.explorer.module.RepositoryPage;
+import com.github.explorer.module.RepositoryQuery;
 import com.github.explorer.service.GithubRepositoryService;
+import com.github.explorer.service.RepositoryExportService;
+import com.github.explorer.service.RepositoryQueryService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/repositories")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GithubRepositoryController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GithubRepositoryController.class);
     @Autowired
     private GithubRepositoryService githubRepositoryService;
 
+    @Autowired
+    private RepositoryExportService repositoryExportService;
+
+    @Autowired
+    private RepositoryQueryService repositoryQueryService;
+
+    @Autowired
+    private RepositoryResponseCache repositoryResponseCache;
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    /**
+     * Lists stored repositories matching the filters, one keyset-paginated page at a time.
+     *
+     * @param minStars      lowest star count to include
+     * @param maxStars      highest star count to include
+     * @param createdFrom   first creation day to include, as an ISO date
+     * @param createdBefore first creation day to exclude, as an ISO date
+     * @param owner         prefix of the {@code owner/repositoryName} id, typically an owner name
+     * @param sort          {@code stars} or {@code createdAt}
+     * @param direction     {@code desc} or {@code asc}
+     * @param limit         the page size
+     * @param cursor        the {@code nextCursor} of the previous page
+     * @return a ResponseEntity containing the page and the cursor of the next one
+     */
+    @GetMapping
+    public ResponseEntity<RepositoryPage> searchRepositories(
+            @RequestParam(required = false) Integer minStars,
+            @RequestParam(required = false) Integer maxStars,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdBefore,
+            @RequestParam(required = false) String owner,
+            @RequestParam(defaultValue = "stars") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        RepositoryQuery query = new RepositoryQuery(minStars, maxStars, createdFrom, createdBefore, owner,
+                RepositoryQuery.SortField.fromParameter(sort), Sort.Direction.fromString(direction), limit, cursor);
+        return ResponseEntity.ok(repositoryQueryService.search(query));
+    }
+
     /**
      * Retrieves the details of a GitHub repository.
+     * <p>
+     * The body is written from pre-encoded bytes, gzip-compressed if the client accepts it, with a strong
+     * {@code ETag} per encoding; a request whose {@code If-None-Match} matches the tag of the encoding it
+     * would get receives an empty {@code 304 Not Modified}.
+     * Requests forwarded by a peer instance are served locally and get an {@code Age} header; with
+     * {@code Cache-Control: max-age=0} a copy that is no longer fresh is revalidated first.
      *
      * @param owner          the owner of the repository
      * @param repositoryName the name of the repository
+     * @param requestHeaders the request headers, for {@code If-None-Match} and {@code Accept-Encoding}
      * @return a ResponseEntity containing the repository details, or a 404 status if not found
      */
     @GetMapping("/{owner}/{repositoryName}")
-    public ResponseEntity<Github> getRepositoryDetails(
-            @PathVariable String owner, @PathVariable String repositoryName) {
-        // Log the incoming request
-        LOGGER.info("Getting repository details for {}/{}", owner, repositoryName);
-
-        Github repository = githubRepositoryService.getRepositoryDetails(owner, repositoryName);
-
-        if (repository != null) {
-            // Log the successful retrieval
-            LOGGER.info("Repository found: {}", repository.getFullName());
-            return ResponseEntity.ok(repository);
-        } else {
+    public ResponseEntity<byte[]> getRepositoryDetails(
+            @PathVariable String owner, @PathVariable String repositoryName, @RequestHeader HttpHeaders requestHeaders) {
+        // Log the incoming request; per-request INFO logging is left to the access log
+        LOGGER.debug("Getting repository details for {}/{}", owner, repositoryName);
+
+        boolean forwarded = requestHeaders.containsKey(PeerRouter.FORWARDED_HEADER);
+        Github repository = forwarded
+                ? githubRepositoryService.getRepositoryDetailsForPeer(owner, repositoryName, isRevalidation(requestHeaders))
+                : githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+
+        if (repository == null) {
             // Log the not found error
             LOGGER.warn("Repository not found: {}/{}", owner, repositoryName);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
+        // Log the successful retrieval
+        LOGGER.debug("Repository found: {}", repository.getFullName());
+
+        ResponseEntity<byte[]> response =
+                RepositoryResponses.encoded(repositoryResponseCache.encode(repository), requestHeaders);
+        if (forwarded && repository.getFetchedAt() != null) {
+            // Lets the forwarding peer age its copy from when this instance fetched it, not from now
+            long age = Math.max(0, Duration.between(repository.getFetchedAt(), Instant.now()).toSeconds());
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .header(HttpHeaders.AGE, String.valueOf(age))
+                    .body(response.getBody());
+        }
+        return response;
+    }
+
+    /**
+     * Retrieves the details of several GitHub repositories in one request.
+     *
+     * @param repositoryIds the {@code owner/repositoryName} ids to look up
+     * @return a ResponseEntity containing one result per distinct id, each with its own status
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<RepositoryLookupResult>> getRepositoryDetailsBatch(@RequestBody List<String> repositoryIds) {
+        LOGGER.debug("Getting repository details for a batch of {} ids", repositoryIds.size());
+        return ResponseEntity.ok(githubRepositoryService.getRepositoryDetails(repositoryIds));
+    }
+
+    /**
+     * Forgets a cached not-found answer for a repository, so the next lookup asks GitHub again.
+     *
+     * @param owner          the owner of the repository
+     * @param repositoryName the name of the repository
+     * @return a ResponseEntity with a 204 status
+     */
+    @DeleteMapping("/{owner}/{repositoryName}/not-found")
+    public ResponseEntity<Void> evictNotFound(@PathVariable String owner, @PathVariable String repositoryName) {
+        LOGGER.info("Evicting cached not-found answer for {}/{}", owner, repositoryName);
+        githubRepositoryService.evictNotFound(owner, repositoryName);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Streams every cached repository as newline-delimited JSON, ordered by id.
+     * <p>
+     * Reads the database only, so repositories still queued for write-behind are not included.
+     *
+     * @param after    the id of the last repository already received, to resume an interrupted export
+     * @param response the response the export is written to
+     */
+    @GetMapping("/export")
+    public void exportRepositories(@RequestParam(required = false) String after, HttpServletResponse response)
+            throws IOException {
+        LOGGER.info("Exporting repositories after {}", after);
+        response.setContentType(NDJSON);
+        repositoryExportService.exportRepositories(after, response.getOutputStream());
+    }
+
+    private static boolean isRevalidation(HttpHeaders requestHeaders) {
+        String cacheControl = requestHeaders.getCacheControl();
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String directive : cacheControl.split(",")) {
+            if (directive.trim().equalsIgnoreCase("max-age=0") || directive.trim().equalsIgnoreCase("no-cache")) {
+                return true;
+            }
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
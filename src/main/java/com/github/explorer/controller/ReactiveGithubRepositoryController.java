@@ -0,0 +1,55 @@
+package com.github.explorer.controller;
+
+import com.github.explorer.cache.RepositoryResponseCache;
+import com.github.explorer.service.ReactiveGithubRepositoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves repository lookups on WebFlux when the application runs with
+ * {@code spring.main.web-application-type=reactive}.
+ */
+@RestController
+@RequestMapping("/repositories")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGithubRepositoryController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveGithubRepositoryController.class);
+
+    @Autowired
+    private ReactiveGithubRepositoryService reactiveGithubRepositoryService;
+
+    @Autowired
+    private RepositoryResponseCache repositoryResponseCache;
+
+    /**
+     * Retrieves the details of a GitHub repository without holding a thread while GitHub answers.
+     * <p>
+     * Responses match {@link GithubRepositoryController#getRepositoryDetails}, including the {@code ETag},
+     * gzip and error handling.
+     *
+     * @param owner          the owner of the repository
+     * @param repositoryName the name of the repository
+     * @param requestHeaders the request headers, for {@code If-None-Match} and {@code Accept-Encoding}
+     * @return a Mono of the ResponseEntity containing the repository details
+     */
+    @GetMapping("/{owner}/{repositoryName}")
+    public Mono<ResponseEntity<byte[]>> getRepositoryDetails(
+            @PathVariable String owner, @PathVariable String repositoryName, @RequestHeader HttpHeaders requestHeaders) {
+        LOGGER.debug("Getting repository details for {}/{}", owner, repositoryName);
+        return reactiveGithubRepositoryService.getRepositoryDetails(owner, repositoryName)
+                .map(repository -> RepositoryResponses.encoded(repositoryResponseCache.encode(repository), requestHeaders))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.explorer.controller;
+
+import com.github.explorer.cache.EncodedRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Builds repository detail responses from pre-encoded bytes, shared by the servlet and reactive controllers.
+ */
+final class RepositoryResponses {
+
+    private RepositoryResponses() {
+    }
+
+    /**
+     * Returns an empty {@code 304} if {@code If-None-Match} matches the entity tag of the variant that would be
+     * sent, otherwise the JSON body, gzip-compressed if the client accepts it.
+     *
+     * @param encoded        the pre-encoded repository
+     * @param requestHeaders the request headers, for {@code If-None-Match} and {@code Accept-Encoding}
+     * @return the response to send
+     */
+    static ResponseEntity<byte[]> encoded(EncodedRepository encoded, HttpHeaders requestHeaders) {
+        boolean gzip = encoded.gzip() != null && acceptsGzip(requestHeaders.get(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? encoded.gzipEtag() : encoded.etag();
+        if (matchesAny(etag, requestHeaders.getIfNoneMatch())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzip());
+        }
+        return response.body(encoded.json());
+    }
+
+    private static boolean matchesAny(String etag, List<String> ifNoneMatch) {
+        for (String candidate : ifNoneMatch) {
+            // If-None-Match uses the weak comparison, so a W/ prefix added by an intermediary still matches
+            if ("*".equals(candidate) || etag.equals(candidate.startsWith("W/") ? candidate.substring(2) : candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String header : acceptEncoding) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                    return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.explorer.exception;
+
+import java.time.Instant;
+
+public class RateLimitExceededException extends RuntimeException {
+    private final Instant retryAt;
+
+    public RateLimitExceededException(Instant retryAt) {
+        super("GitHub API rate limit exhausted, retry later");
+        this.retryAt = retryAt;
+    }
+
+    public Instant getRetryAt() {
+        return retryAt;
+    }
+}
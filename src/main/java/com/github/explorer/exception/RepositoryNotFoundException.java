@@ -4,4 +4,8 @@ public class RepositoryNotFoundException extends RuntimeException {
     public RepositoryNotFoundException(String owner, String repositoryName) {
         super(String.format("Repository '%s/%s' not found", owner, repositoryName));
     }
+
+    public RepositoryNotFoundException(String repositoryId) {
+        super(String.format("Repository '%s' not found", repositoryId));
+    }
 }
\ No newline at end of file
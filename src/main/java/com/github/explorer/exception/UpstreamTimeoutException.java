@@ -0,0 +1,9 @@
+package com.github.explorer.exception;
+
+import java.time.Duration;
+
+public class UpstreamTimeoutException extends RuntimeException {
+    public UpstreamTimeoutException(String repositoryId, Duration timeout) {
+        super(String.format("Timed out after %d ms waiting for repository '%s'", timeout.toMillis(), repositoryId));
+    }
+}
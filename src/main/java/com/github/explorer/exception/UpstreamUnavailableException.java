@@ -0,0 +1,16 @@
+package com.github.explorer.exception;
+
+import java.time.Instant;
+
+public class UpstreamUnavailableException extends RuntimeException {
+    private final Instant retryAt;
+
+    public UpstreamUnavailableException(String message, Instant retryAt) {
+        super(message);
+        this.retryAt = retryAt;
+    }
+
+    public Instant getRetryAt() {
+        return retryAt;
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.explorer.metrics;
+
+import com.github.explorer.upstream.UpstreamScheduler.Priority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Meters for the repository lookup pipeline: where lookups were answered, how long GitHub took and how
+ * long writes to the database took.
+ * <p>
+ * Every tag has a small, fixed set of values; repository ids are never used as tags. Meters are created
+ * once and reused, so recording only costs a map lookup and an atomic update.
+ */
+@Component
+public class LookupMetrics {
+
+    /**
+     * HTTP status tag used when the upstream request failed without a response.
+     */
+    public static final String IO_ERROR = "IO_ERROR";
+
+    public enum Source {
+        /**
+         * Answered from the L1 cache.
+         */
+        CACHE,
+        /**
+         * Answered from the cache of recent not-found answers.
+         */
+        NEGATIVE_CACHE,
+        /**
+         * Answered from a stored row, or from a fetched repository still waiting to be written.
+         */
+        DATABASE,
+        /**
+         * Required a request to GitHub, either a first fetch or a revalidation.
+         */
+        UPSTREAM,
+        /**
+         * Waited for a load of the same repository that another request had already started.
+         */
+        COALESCED
+    }
+
+    public enum SaveMode {
+        /**
+         * Written inline by the request that fetched the repository.
+         */
+        DIRECT,
+        /**
+         * Written by the write-behind flusher as part of a batch.
+         */
+        BATCH
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Source, Counter> lookups = new EnumMap<>(Source.class);
+    private final Map<SaveMode, Timer> saves = new EnumMap<>(SaveMode.class);
+    private final Map<Priority, ConcurrentMap<String, Timer>> upstreamRequests = new EnumMap<>(Priority.class);
+    private final DistributionSummary graphqlBatchSizes;
+
+    public LookupMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Source source : Source.values()) {
+            lookups.put(source, Counter.builder("explorer.lookups")
+                    .description("Repository lookups by where they were answered")
+                    .tag("source", tagValue(source))
+                    .register(registry));
+        }
+        for (SaveMode mode : SaveMode.values()) {
+            saves.put(mode, Timer.builder("explorer.repository.saves")
+                    .description("Time spent writing fetched repositories to the database")
+                    .tag("mode", tagValue(mode))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry));
+        }
+        for (Priority priority : Priority.values()) {
+            upstreamRequests.put(priority, new ConcurrentHashMap<>());
+        }
+        graphqlBatchSizes = DistributionSummary.builder("explorer.upstream.graphql.batch_size")
+                .description("Repositories resolved per GitHub GraphQL request")
+                .baseUnit("repositories")
+                .register(registry);
+    }
+
+    public void recordLookup(Source source) {
+        lookups.get(source).increment();
+    }
+
+    /**
+     * Starts timing an upstream request.
+     *
+     * @return the sample to pass to {@link #recordUpstream(Timer.Sample, Priority, String)}
+     */
+    public Timer.Sample startUpstream() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Stops timing an upstream request and records it under its lane and response status.
+     *
+     * @param sample   the sample returned by {@link #startUpstream()}
+     * @param priority the upstream lane the request was scheduled in
+     * @param status   the HTTP status code, or {@link #IO_ERROR}
+     */
+    public void recordUpstream(Timer.Sample sample, Priority priority, String status) {
+        Timer timer = upstreamRequests.get(priority).computeIfAbsent(status, key -> Timer.builder("explorer.upstream.requests")
+                .description("Latency of GitHub API requests")
+                .tag("lane", tagValue(priority))
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(5))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry));
+        sample.stop(timer);
+    }
+
+    /**
+     * Runs a database write and records how long it took.
+     *
+     * @param mode  how the write was issued
+     * @param write the write to run
+     */
+    public void recordSave(SaveMode mode, Runnable write) {
+        saves.get(mode).record(write);
+    }
+
+    /**
+     * Records how many repositories one GraphQL request resolved.
+     *
+     * @param size the number of repositories in the batch
+     */
+    public void recordGraphqlBatch(int size) {
+        graphqlBatchSizes.record(size);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,14 +1,24 @@
 package com.github.explorer.module;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.Data;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_github_fetched_at", columnList = "fetched_at"),
+        // Composite with id so keyset pagination over each sort order is a single index range scan
+        @Index(name = "idx_github_stars", columnList = "stars, id"),
+        @Index(name = "idx_github_created_at", columnList = "created_at, id")
+})
 public class Github {
     @Id
     private String id;
@@ -22,4 +32,12 @@ public class Github {
     @JsonProperty("created_at")
     private LocalDateTime createdAt;
 
+    // Upstream validators and freshness metadata, used for conditional revalidation only
+    @JsonIgnore
+    private String etag;
+    @JsonIgnore
+    private String lastModified;
+    @JsonIgnore
+    private Instant fetchedAt;
+
 }
\ No newline at end of file
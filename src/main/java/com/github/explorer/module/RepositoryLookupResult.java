@@ -0,0 +1,23 @@
+package com.github.explorer.module;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The outcome of looking up a single repository as part of a batch request.
+ *
+ * @param id         the requested {@code owner/repositoryName} id
+ * @param status     the HTTP status this lookup would have produced on its own
+ * @param repository the repository details, if found
+ * @param message    the error message, if the lookup failed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RepositoryLookupResult(String id, int status, Github repository, String message) {
+
+    public static RepositoryLookupResult found(String id, Github repository) {
+        return new RepositoryLookupResult(id, 200, repository, null);
+    }
+
+    public static RepositoryLookupResult failed(String id, int status, String message) {
+        return new RepositoryLookupResult(id, status, null, message);
+    }
+}
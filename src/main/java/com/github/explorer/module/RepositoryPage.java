@@ -0,0 +1,15 @@
+package com.github.explorer.module;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One page of a repository query.
+ *
+ * @param items      the repositories on this page, in query order
+ * @param nextCursor the cursor to request the following page with, or null if this is the last page
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RepositoryPage(List<Github> items, String nextCursor) {
+}
@@ -0,0 +1,61 @@
+package com.github.explorer.module;
+
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Filters, ordering and page position of a query over the stored repositories.
+ *
+ * @param minStars       lowest star count to include, or null
+ * @param maxStars       highest star count to include, or null
+ * @param createdFrom    first creation day to include, or null
+ * @param createdBefore  first creation day to exclude, or null
+ * @param ownerPrefix    prefix the {@code owner/repositoryName} id must start with, or null
+ * @param sort           the attribute to order by
+ * @param direction      the order direction
+ * @param limit          the page size, or null for the default
+ * @param cursor         the {@code nextCursor} of the previous page, or null for the first page
+ */
+public record RepositoryQuery(Integer minStars, Integer maxStars, LocalDate createdFrom, LocalDate createdBefore,
+                              String ownerPrefix, SortField sort, Sort.Direction direction, Integer limit,
+                              String cursor) {
+
+    public enum SortField {
+        STARS("stars"),
+        CREATED_AT("createdAt");
+
+        private final String attribute;
+
+        SortField(String attribute) {
+            this.attribute = attribute;
+        }
+
+        /**
+         * Returns the entity attribute this field sorts by, which is also its request parameter value.
+         *
+         * @return the attribute name
+         */
+        public String attribute() {
+            return attribute;
+        }
+
+        /**
+         * Parses a {@code sort} request parameter.
+         *
+         * @param value {@code stars} or {@code createdAt}, case-insensitively
+         * @return the sort field
+         * @throws IllegalArgumentException if the value names no sort field
+         */
+        public static SortField fromParameter(String value) {
+            for (SortField field : values()) {
+                if (field.attribute.equalsIgnoreCase(value)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException(String.format(Locale.ROOT,
+                    "Unknown sort '%s', expected 'stars' or 'createdAt'", value));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.explorer.repo;
+
+import com.github.explorer.module.Github;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Writes repositories with plain JDBC batch upserts, bypassing the persistence context.
+ * <p>
+ * The column list mirrors the {@link Github} mapping and must be kept in sync with it.
+ */
+@Repository
+public class GithubBatchWriter {
+
+    private static final String UPSERT = "MERGE INTO github "
+            + "(id, full_name, description, clone_url, stars, created_at, etag, last_modified, fetched_at) "
+            + "KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts or updates all given repositories in one JDBC batch.
+     *
+     * @param repositories the repositories to write
+     */
+    public void upsertAll(List<Github> repositories) {
+        jdbcTemplate.batchUpdate(UPSERT, repositories, repositories.size(), GithubBatchWriter::bind);
+    }
+
+    private static void bind(PreparedStatement statement, Github github) throws SQLException {
+        statement.setString(1, github.getId());
+        statement.setString(2, github.getFullName());
+        statement.setString(3, github.getDescription());
+        statement.setString(4, github.getCloneUrl());
+        statement.setInt(5, github.getStars());
+        if (github.getCreatedAt() != null) {
+            statement.setTimestamp(6, Timestamp.valueOf(github.getCreatedAt()));
+        } else {
+            statement.setNull(6, Types.TIMESTAMP);
+        }
+        statement.setString(7, github.getEtag());
+        statement.setString(8, github.getLastModified());
+        if (github.getFetchedAt() != null) {
+            statement.setObject(9, github.getFetchedAt().atOffset(ZoneOffset.UTC));
+        } else {
+            statement.setNull(9, Types.TIMESTAMP_WITH_TIMEZONE);
+        }
+    }
+}
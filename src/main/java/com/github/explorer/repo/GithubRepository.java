@@ -1,9 +1,67 @@
 package com.github.explorer.repo;
 
 import com.github.explorer.module.Github;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface GithubRepository extends JpaRepository<Github, String> {
-}
\ No newline at end of file
+public interface GithubRepository extends JpaRepository<Github, String>, JpaSpecificationExecutor<Github> {
+
+    /**
+     * Number of rows fetched per JDBC round trip when streaming.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Records a successful revalidation without rewriting the repository details.
+     *
+     * @param id        the {@code owner/repositoryName} id
+     * @param fetchedAt when the entry was last confirmed against GitHub
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Transactional
+    @Query("update Github g set g.fetchedAt = :fetchedAt where g.id = :id")
+    int updateFetchedAt(@Param("id") String id, @Param("fetchedAt") Instant fetchedAt);
+
+    /**
+     * Returns the ids of repositories last fetched before the given instant, with an id greater than the given
+     * keyset cursor, in id order.
+     *
+     * @param threshold the fetched-at cut-off
+     * @param after     the last id already seen, or an empty string to start from the beginning
+     * @param pageable  the maximum number of ids to return
+     * @return the ids of the repositories due for a refresh
+     */
+    @Query("select g.id from Github g where g.fetchedAt < :threshold and g.id > :after order by g.id")
+    List<String> findIdsFetchedBefore(@Param("threshold") Instant threshold, @Param("after") String after, Pageable pageable);
+
+    /**
+     * Streams all repositories with an id greater than the given keyset cursor, in id order.
+     * <p>
+     * Must be consumed inside a transaction and closed afterwards; rows are fetched
+     * {@value #STREAM_FETCH_SIZE} at a time rather than materialized up front.
+     *
+     * @param after the id of the last row already seen, or an empty string to start from the beginning
+     * @return a stream of repositories
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select g from Github g where g.id > :after order by g.id")
+    Stream<Github> streamAllAfter(@Param("after") String after);
+}
@@ -0,0 +1,79 @@
+package com.github.explorer.repo;
+
+import com.github.explorer.module.Github;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Query building blocks for {@link GithubRepository#findBy}.
+ * <p>
+ * Each filter maps onto an indexed column: {@code stars} and {@code created_at} have composite indexes ending in
+ * {@code id}, and the owner prefix is a range scan on the primary key.
+ */
+public final class GithubSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private GithubSpecifications() {
+    }
+
+    public static Specification<Github> starsAtLeast(int minStars) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("stars"), minStars);
+    }
+
+    public static Specification<Github> starsAtMost(int maxStars) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("stars"), maxStars);
+    }
+
+    public static Specification<Github> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<Github> createdBefore(LocalDateTime before) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), before);
+    }
+
+    public static Specification<Github> hasValue(String attribute) {
+        return (root, query, cb) -> cb.isNotNull(root.get(attribute));
+    }
+
+    /**
+     * Matches repositories whose {@code owner/repositoryName} id starts with the given prefix.
+     *
+     * @param prefix the prefix, matched literally
+     * @return the specification
+     */
+    public static Specification<Github> idStartsWith(String prefix) {
+        String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return (root, query, cb) -> cb.like(root.get("id"), escaped + "%", LIKE_ESCAPE);
+    }
+
+    /**
+     * Matches the rows after a keyset position in {@code (attribute, id)} order.
+     * <p>
+     * Besides the exact {@code (a, id) > (value, lastId)} condition, a redundant bound on the attribute alone
+     * is added so the database can start an index range scan at the cursor instead of filtering from the top.
+     *
+     * @param attribute the sort attribute
+     * @param direction the sort direction of both the attribute and the id
+     * @param value     the attribute value of the last row on the previous page
+     * @param lastId    the id of the last row on the previous page
+     * @return the specification
+     */
+    public static <Y extends Comparable<? super Y>> Specification<Github> after(String attribute, Sort.Direction direction,
+                                                                                 Y value, String lastId) {
+        return (root, query, cb) -> {
+            Path<Y> sortPath = root.get(attribute);
+            Path<String> idPath = root.get("id");
+            if (direction.isAscending()) {
+                return cb.and(cb.greaterThanOrEqualTo(sortPath, value),
+                        cb.or(cb.greaterThan(sortPath, value), cb.greaterThan(idPath, lastId)));
+            }
+            return cb.and(cb.lessThanOrEqualTo(sortPath, value),
+                    cb.or(cb.lessThan(sortPath, value), cb.lessThan(idPath, lastId)));
+        };
+    }
+}
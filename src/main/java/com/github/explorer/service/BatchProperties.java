@@ -0,0 +1,22 @@
+package com.github.explorer.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits for batch lookups, bound from {@code explorer.batch.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "explorer.batch")
+public class BatchProperties {
+
+    /**
+     * Maximum number of repository ids accepted in a single batch request.
+     */
+    private int maxSize = 500;
+
+    /**
+     * Maximum number of concurrent upstream fetches issued for a single batch request.
+     */
+    private int maxConcurrency = 16;
+}
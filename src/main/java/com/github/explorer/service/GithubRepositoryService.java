@@ -1,41 +1,132 @@
 package com.github.explorer.service;
 
-import com.github.explorer.controller.GithubRepositoryController;
+import com.github.explorer.cache.CacheProperties;
+import com.github.explorer.cache.NegativeCache;
+import com.github.explorer.cache.RepositoryCache;
+import com.github.explorer.cache.SingleFlight;
+import com.github.explorer.cluster.PeerRouter;
+import com.github.explorer.exception.RateLimitExceededException;
 import com.github.explorer.exception.RepositoryNotFoundException;
+import com.github.explorer.exception.UpstreamTimeoutException;
+import com.github.explorer.exception.UpstreamUnavailableException;
+import com.github.explorer.metrics.LookupMetrics;
+import com.github.explorer.metrics.LookupMetrics.SaveMode;
+import com.github.explorer.metrics.LookupMetrics.Source;
 import com.github.explorer.module.Github;
+import com.github.explorer.module.RepositoryLookupResult;
 import com.github.explorer.repo.GithubRepository;
+import com.github.explorer.upstream.Bulkhead;
+import com.github.explorer.upstream.CircuitBreaker;
+import com.github.explorer.upstream.CircuitBreaker.Outcome;
+import com.github.explorer.upstream.UpstreamScheduler;
+import com.github.explorer.upstream.UpstreamScheduler.Priority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 @Service
-public class GithubRepositoryService {
+public class GithubRepositoryService implements MeterBinder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GithubRepositoryService.class);
 
-    // Define the GitHub API endpoint URL as a constant
-    private static final String GITHUB_API_URL = "https://api.github.com/repos/{owner}/{repositoryName}";
+    // Relative to explorer.upstream.base-url, which the RestTemplate uses as its root URI
+    static final String GITHUB_REPOSITORY_PATH = "/repos/{owner}/{repositoryName}";
 
     @Autowired
     private GithubRepository githubRepository;
 
-    private RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private RepositoryCache repositoryCache;
+
+    @Autowired
+    private NegativeCache negativeCache;
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    @Autowired
+    private BatchProperties batchProperties;
+
+    @Autowired
+    private UpstreamScheduler upstreamScheduler;
+
+    @Autowired
+    private CircuitBreaker circuitBreaker;
+
+    @Autowired
+    private Bulkhead bulkhead;
+
+    @Autowired
+    private GraphqlBatchLoader graphqlBatchLoader;
+
+    @Autowired
+    private PeerRouter peerRouter;
+
+    @Autowired
+    private RepositoryRefresher repositoryRefresher;
+
+    @Autowired
+    private WriteBehindQueue writeBehindQueue;
+
+    @Autowired
+    private LookupMetrics lookupMetrics;
+
+    private final SingleFlight<String, Github> inFlightLoads = new SingleFlight<>();
+
+    private RestTemplate restTemplate;
 
+    private Clock clock = Clock.systemUTC();
 
+
+    @Autowired
     public void setRestTemplate(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
     }
 
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    Instant now() {
+        return clock.instant();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("explorer.lookups.in_flight", this, GithubRepositoryService::inFlightLoadCount)
+                .description("Repositories currently being loaded from the database or GitHub")
+                .register(registry);
+    }
+
     /**
      * Retrieves the details of a GitHub repository.
      *
@@ -49,19 +140,416 @@ public class GithubRepositoryService {
         }
 
         String repositoryId = String.format("%s/%s", owner, repositoryName);
-        return githubRepository.findById(repositoryId)
-                .orElseGet(() -> fetchAndSaveRepositoryDetails(owner, repositoryName));
+        Github cached = repositoryCache.get(repositoryId);
+        if (cached != null) {
+            Freshness freshness = freshness(cached);
+            if (freshness == Freshness.STALE) {
+                scheduleRefresh(repositoryId);
+            }
+            if (freshness != Freshness.EXPIRED) {
+                lookupMetrics.recordLookup(Source.CACHE);
+                return cached;
+            }
+        } else if (negativeCache.isKnownMissing(repositoryId)) {
+            lookupMetrics.recordLookup(Source.NEGATIVE_CACHE);
+            throw new RepositoryNotFoundException(owner, repositoryName);
+        }
+
+        boolean[] loaded = new boolean[1];
+        Github github = inFlightLoads.execute(repositoryId, () -> {
+            loaded[0] = true;
+            return loadRepositoryDetails(repositoryId, owner, repositoryName);
+        }, cacheProperties.getLoadWaitTimeout());
+        if (!loaded[0]) {
+            lookupMetrics.recordLookup(Source.COALESCED);
+        }
+        return github;
+    }
+
+    /**
+     * Retrieves the details of a GitHub repository on behalf of a peer instance.
+     * <p>
+     * The lookup is never forwarded to another peer, even if this instance does not own the repository. When the
+     * peer is revalidating its own copy, a copy here that is no longer fresh is revalidated against GitHub first in
+     * the background lane, so the peer does not get back a copy just as stale as its own.
+     *
+     * @param owner          the owner of the repository
+     * @param repositoryName the name of the repository
+     * @param revalidate     whether the peer is revalidating its copy
+     * @return the GitHub repository details, or null if not found
+     */
+    public Github getRepositoryDetailsForPeer(String owner, String repositoryName, boolean revalidate) {
+        return peerRouter.serveForwarded(() -> {
+            Github github = getRepositoryDetails(owner, repositoryName);
+            if (!revalidate || github == null || freshness(github) == Freshness.FRESH) {
+                return github;
+            }
+            try {
+                return refreshRepositoryDetails(github, Priority.BACKGROUND);
+            } catch (RepositoryNotFoundException e) {
+                forgetRepository(github.getId());
+                throw e;
+            } catch (RateLimitExceededException | UpstreamUnavailableException e) {
+                LOGGER.debug("Serving {} to a peer without revalidating it, GitHub cannot be asked now", github.getId());
+                return github;
+            }
+        });
+    }
+
+    /**
+     * Retrieves the details of several GitHub repositories at once.
+     * <p>
+     * Cached repositories are resolved with a single database query; the rest are fetched from GitHub
+     * concurrently on virtual threads. Every id gets its own result, so one failure does not fail the batch.
+     *
+     * @param repositoryIds the {@code owner/repositoryName} ids to look up
+     * @return one result per distinct id, in request order
+     */
+    public List<RepositoryLookupResult> getRepositoryDetails(List<String> repositoryIds) {
+        if (repositoryIds == null || repositoryIds.isEmpty()) {
+            throw new IllegalArgumentException("Repository ids must not be null or empty");
+        }
+        if (repositoryIds.size() > batchProperties.getMaxSize()) {
+            throw new IllegalArgumentException(
+                    String.format("At most %d repository ids can be requested at once", batchProperties.getMaxSize()));
+        }
+
+        Set<String> distinctIds = new LinkedHashSet<>(repositoryIds);
+        Map<String, RepositoryLookupResult> results = new ConcurrentHashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String repositoryId : distinctIds) {
+            if (!isValidRepositoryId(repositoryId)) {
+                results.put(String.valueOf(repositoryId), RepositoryLookupResult.failed(String.valueOf(repositoryId),
+                        HttpStatus.BAD_REQUEST.value(), "Repository id must have the form owner/repositoryName"));
+                continue;
+            }
+            Github cached = repositoryCache.get(repositoryId);
+            if (cached != null) {
+                lookupMetrics.recordLookup(Source.CACHE);
+                results.put(repositoryId, RepositoryLookupResult.found(repositoryId, cached));
+            } else if (negativeCache.isKnownMissing(repositoryId)) {
+                lookupMetrics.recordLookup(Source.NEGATIVE_CACHE);
+                results.put(repositoryId, RepositoryLookupResult.failed(repositoryId, HttpStatus.NOT_FOUND.value(),
+                        new RepositoryNotFoundException(repositoryId).getMessage()));
+            } else {
+                uncached.add(repositoryId);
+            }
+        }
+
+        Map<String, Github> stored = new HashMap<>();
+        if (!uncached.isEmpty()) {
+            githubRepository.findAllById(uncached).forEach(github -> stored.put(github.getId(), github));
+            for (String repositoryId : uncached) {
+                Github queued = writeBehindQueue.pending(repositoryId);
+                if (queued != null) {
+                    stored.put(repositoryId, queued);
+                }
+            }
+        }
+
+        List<String> pending = new ArrayList<>();
+        for (String repositoryId : uncached) {
+            Github github = stored.get(repositoryId);
+            Freshness freshness = github != null ? freshness(github) : Freshness.EXPIRED;
+            if (freshness == Freshness.STALE) {
+                scheduleRefresh(repositoryId);
+            }
+            if (freshness != Freshness.EXPIRED) {
+                lookupMetrics.recordLookup(Source.DATABASE);
+                repositoryCache.put(repositoryId, github);
+                results.put(repositoryId, RepositoryLookupResult.found(repositoryId, github));
+            } else {
+                pending.add(repositoryId);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            Semaphore permits = new Semaphore(batchProperties.getMaxConcurrency());
+            // Closing the executor waits for every submitted lookup to finish
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (String repositoryId : pending) {
+                    Github storedCopy = stored.get(repositoryId);
+                    executor.submit(() -> results.put(repositoryId, loadForBatch(repositoryId, storedCopy, permits)));
+                }
+            }
+        }
+
+        List<RepositoryLookupResult> ordered = new ArrayList<>(distinctIds.size());
+        for (String repositoryId : distinctIds) {
+            ordered.add(results.get(String.valueOf(repositoryId)));
+        }
+        return ordered;
+    }
+
+    /**
+     * Queues a background revalidation of a stored repository.
+     * <p>
+     * The refresh runs in the background upstream lane, so it is skipped rather than delayed when the
+     * GitHub budget is needed for user-facing requests.
+     *
+     * @param repositoryId the {@code owner/repositoryName} id
+     * @return true if a refresh was queued, false if one is already pending or the refresh queue is full
+     */
+    public boolean scheduleRefresh(String repositoryId) {
+        return scheduleRefresh(repositoryId, Duration.ZERO);
+    }
+
+    /**
+     * Queues a background revalidation of a stored repository that reaches its soft TTL within {@code ahead}.
+     * <p>
+     * The refresh sweeper uses this to revalidate entries shortly before they turn stale, so the refresh is not
+     * skipped just because the entry is still fresh when it runs.
+     *
+     * @param repositoryId the {@code owner/repositoryName} id
+     * @param ahead        how long before the soft TTL the repository is already refreshed
+     * @return true if a refresh was queued, false if one is already pending or the refresh queue is full
+     */
+    public boolean scheduleRefresh(String repositoryId, Duration ahead) {
+        return repositoryRefresher.submit(repositoryId, () -> refreshInBackground(repositoryId, ahead));
+    }
+
+    /**
+     * Forgets a cached not-found answer, so the next lookup asks GitHub again.
+     *
+     * @param owner          the owner of the repository
+     * @param repositoryName the name of the repository
+     */
+    public void evictNotFound(String owner, String repositoryName) {
+        negativeCache.invalidate(String.format("%s/%s", owner, repositoryName));
+    }
+
+    /**
+     * Returns the number of repositories currently being loaded from the database or GitHub.
+     *
+     * @return the in-flight load count
+     */
+    public int inFlightLoadCount() {
+        return inFlightLoads.inFlightCount();
+    }
+
+    /**
+     * Revalidates a stored repository against GitHub using its {@code ETag} and {@code Last-Modified} validators.
+     * <p>
+     * A {@code 304 Not Modified} answer only refreshes the fetched-at timestamp; a full response replaces the
+     * stored details.
+     *
+     * @param stored the repository as currently stored
+     * @return the revalidated repository details
+     */
+    public Github refreshRepositoryDetails(Github stored) {
+        return refreshRepositoryDetails(stored, Priority.INTERACTIVE);
+    }
+
+    /**
+     * Revalidates a stored repository against GitHub in the given upstream scheduling lane.
+     *
+     * @param stored   the repository as currently stored
+     * @param priority the upstream lane the revalidation request is scheduled in
+     * @return the revalidated repository details
+     */
+    public Github refreshRepositoryDetails(Github stored, Priority priority) {
+        String[] parts = stored.getId().split("/", 2);
+        Github github = peerRouter.fetch(parts[0], parts[1], true);
+        if (github == null) {
+            github = fetchRepositoryDetailsFromGithub(parts[0], parts[1], stored, priority);
+        }
+        github.setId(stored.getId());
+        if (isUnchanged(github, stored)) {
+            persistRevalidated(github);
+        } else {
+            persist(github);
+        }
+        repositoryCache.put(github.getId(), github);
+        return github;
+    }
+
+    private Github loadRepositoryDetails(String repositoryId, String owner, String repositoryName) {
+        Github github = githubRepository.findById(repositoryId)
+                .or(() -> Optional.ofNullable(writeBehindQueue.pending(repositoryId)))
+                .map(stored -> switch (freshness(stored)) {
+                    case FRESH -> {
+                        lookupMetrics.recordLookup(Source.DATABASE);
+                        yield stored;
+                    }
+                    case STALE -> {
+                        lookupMetrics.recordLookup(Source.DATABASE);
+                        scheduleRefresh(repositoryId);
+                        yield stored;
+                    }
+                    case EXPIRED -> {
+                        lookupMetrics.recordLookup(Source.UPSTREAM);
+                        yield revalidateOrServeStored(stored);
+                    }
+                })
+                .orElseGet(() -> {
+                    lookupMetrics.recordLookup(Source.UPSTREAM);
+                    return fetchAndSaveRepositoryDetails(owner, repositoryName);
+                });
+        if (github != null) {
+            repositoryCache.put(repositoryId, github);
+        }
+        return github;
+    }
+
+    private RepositoryLookupResult loadForBatch(String repositoryId, Github stored, Semaphore permits) {
+        String[] parts = repositoryId.split("/", 2);
+        try {
+            permits.acquire();
+            try {
+                boolean[] started = new boolean[1];
+                Github github = inFlightLoads.execute(repositoryId, () -> {
+                    started[0] = true;
+                    lookupMetrics.recordLookup(Source.UPSTREAM);
+                    Github loaded = stored != null
+                            ? revalidateOrServeStored(stored)
+                            : fetchAndSaveRepositoryDetails(parts[0], parts[1]);
+                    repositoryCache.put(repositoryId, loaded);
+                    return loaded;
+                }, cacheProperties.getLoadWaitTimeout());
+                if (!started[0]) {
+                    lookupMetrics.recordLookup(Source.COALESCED);
+                }
+                return RepositoryLookupResult.found(repositoryId, github);
+            } finally {
+                permits.release();
+            }
+        } catch (RepositoryNotFoundException e) {
+            return RepositoryLookupResult.failed(repositoryId, HttpStatus.NOT_FOUND.value(), e.getMessage());
+        } catch (UpstreamTimeoutException e) {
+            return RepositoryLookupResult.failed(repositoryId, HttpStatus.GATEWAY_TIMEOUT.value(), e.getMessage());
+        } catch (RateLimitExceededException | UpstreamUnavailableException e) {
+            return RepositoryLookupResult.failed(repositoryId, HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return RepositoryLookupResult.failed(repositoryId, HttpStatus.SERVICE_UNAVAILABLE.value(), "Lookup was interrupted.");
+        } catch (RuntimeException e) {
+            LOGGER.error("Batch lookup failed for {}", repositoryId, e);
+            return RepositoryLookupResult.failed(repositoryId, HttpStatus.INTERNAL_SERVER_ERROR.value(), "An unexpected error occurred.");
+        }
+    }
+
+    private static boolean isValidRepositoryId(String repositoryId) {
+        if (repositoryId == null) {
+            return false;
+        }
+        int separator = repositoryId.indexOf('/');
+        return separator > 0 && separator < repositoryId.length() - 1 && repositoryId.indexOf('/', separator + 1) < 0;
+    }
+
+    private Github revalidateOrServeStored(Github stored) {
+        try {
+            return refreshRepositoryDetails(stored);
+        } catch (RepositoryNotFoundException e) {
+            forgetRepository(stored.getId());
+            throw e;
+        } catch (UpstreamUnavailableException e) {
+            LOGGER.debug("GitHub unavailable, serving stored copy of {}", stored.getId());
+            return stored;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Revalidation failed for {}, serving stored copy", stored.getId());
+            return stored;
+        }
+    }
+
+    private void refreshInBackground(String repositoryId, Duration ahead) {
+        Github stored = githubRepository.findById(repositoryId).orElse(null);
+        if (stored == null || !isDueForRefresh(stored, ahead)) {
+            return;
+        }
+        try {
+            refreshRepositoryDetails(stored, Priority.BACKGROUND);
+        } catch (RepositoryNotFoundException e) {
+            forgetRepository(repositoryId);
+        } catch (RateLimitExceededException e) {
+            LOGGER.debug("Background refresh of {} deferred to keep the rate-limit budget for user requests", repositoryId);
+        } catch (UpstreamUnavailableException e) {
+            LOGGER.debug("Background refresh of {} deferred while GitHub is unavailable", repositoryId);
+        }
+    }
+
+    Freshness freshness(Github stored) {
+        if (stored.getFetchedAt() == null) {
+            // Rows without fetch metadata were not written by this service; keep serving them as-is
+            return Freshness.FRESH;
+        }
+        Duration age = Duration.between(stored.getFetchedAt(), clock.instant());
+        if (age.compareTo(cacheProperties.getHardTtl()) >= 0) {
+            return Freshness.EXPIRED;
+        }
+        return age.compareTo(cacheProperties.getSoftTtl()) >= 0 ? Freshness.STALE : Freshness.FRESH;
+    }
+
+    private boolean isDueForRefresh(Github stored, Duration ahead) {
+        if (stored.getFetchedAt() == null) {
+            return false;
+        }
+        Duration age = Duration.between(stored.getFetchedAt(), clock.instant());
+        return age.compareTo(cacheProperties.getSoftTtl().minus(ahead)) >= 0;
+    }
+
+    enum Freshness {
+        /**
+         * Younger than the soft TTL; served as-is.
+         */
+        FRESH,
+        /**
+         * Between the soft and hard TTL; served as-is while a background refresh is queued.
+         */
+        STALE,
+        /**
+         * Older than the hard TTL; revalidated before it is served.
+         */
+        EXPIRED
+    }
+
+    void forgetRepository(String repositoryId) {
+        writeBehindQueue.writeThrough(repositoryId, () -> githubRepository.deleteById(repositoryId));
+        repositoryCache.invalidate(repositoryId);
+        negativeCache.recordMissing(repositoryId);
     }
 
     private Github fetchAndSaveRepositoryDetails(String owner, String repositoryName) {
-        Github github = fetchRepositoryDetailsFromGithub(owner, repositoryName);
+        String repositoryId = String.format("%s/%s", owner, repositoryName);
+        Github github;
+        try {
+            github = peerRouter.fetch(owner, repositoryName);
+            if (github == null) {
+                // Misses have no validators to send, so they can share a GraphQL query with concurrent misses
+                github = graphqlBatchLoader.isEnabled()
+                        ? graphqlBatchLoader.load(owner, repositoryName)
+                        : fetchRepositoryDetailsFromGithub(owner, repositoryName);
+            }
+        } catch (RepositoryNotFoundException e) {
+            // Only a genuine 404 is remembered; transient failures surface as other exceptions
+            negativeCache.recordMissing(repositoryId);
+            throw e;
+        }
         if (github != null) {
-            github.setId(String.format("%s/%s", owner, repositoryName));
-            githubRepository.save(github);
+            github.setId(repositoryId);
+            persist(github);
         }
         return github;
     }
 
+    void persist(Github github) {
+        if (!writeBehindQueue.enqueue(github)) {
+            writeBehindQueue.writeThrough(github.getId(),
+                    () -> lookupMetrics.recordSave(SaveMode.DIRECT, () -> githubRepository.save(github)));
+        }
+    }
+
+    /**
+     * Writes the new fetched-at timestamp of a repository whose details GitHub confirmed unchanged.
+     */
+    void persistRevalidated(Github github) {
+        if (writeBehindQueue.pending(github.getId()) != null) {
+            // The queued copy is not in the table yet and would later land with its old timestamp
+            persist(github);
+        } else {
+            githubRepository.updateFetchedAt(github.getId(), github.getFetchedAt());
+        }
+    }
+
     /**
      * Fetches the details of a GitHub repository from the GitHub API.
      *
@@ -70,10 +558,57 @@ public class GithubRepositoryService {
      * @return the GitHub repository details
      */
     Github fetchRepositoryDetailsFromGithub(String owner, String repositoryName) {
-        LOGGER.info("Fetching repository details from GitHub API for {}/{}", owner, repositoryName);
+        return fetchRepositoryDetailsFromGithub(owner, repositoryName, null);
+    }
+
+    /**
+     * Fetches the details of a GitHub repository, sending a conditional request when a previous copy is known.
+     *
+     * @param owner          the owner of the repository
+     * @param repositoryName the name of the repository
+     * @param previous       the previously fetched copy whose validators are sent, or null for an unconditional request
+     * @return the fetched repository details, or a copy of {@code previous} with a new fetched-at timestamp if it was not modified
+     */
+    Github fetchRepositoryDetailsFromGithub(String owner, String repositoryName, Github previous) {
+        return fetchRepositoryDetailsFromGithub(owner, repositoryName, previous, Priority.INTERACTIVE);
+    }
+
+    private void acquireBulkhead() {
+        try {
+            bulkhead.acquire();
+        } catch (RuntimeException e) {
+            // The call is never made, so the rate-limit token taken for it goes back
+            upstreamScheduler.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Fetches the details of a GitHub repository through the circuit breaker, the rate-limit-aware upstream
+     * scheduler and the bulkhead.
+     *
+     * @param owner          the owner of the repository
+     * @param repositoryName the name of the repository
+     * @param previous       the previously fetched copy whose validators are sent, or null for an unconditional request
+     * @param priority       the upstream lane the request is scheduled in
+     * @return the fetched repository details, or a copy of {@code previous} with a new fetched-at timestamp if it was not modified
+     */
+    Github fetchRepositoryDetailsFromGithub(String owner, String repositoryName, Github previous, Priority priority) {
+        LOGGER.debug("Fetching repository details from GitHub API for {}/{}", owner, repositoryName);
         if (owner == null || owner.isEmpty() || repositoryName == null || repositoryName.isEmpty()) {
             throw new IllegalArgumentException("Owner and repository name must not be null or empty");
         }
+        circuitBreaker.acquirePermission();
+        try {
+            upstreamScheduler.acquire(priority);
+            acquireBulkhead();
+        } catch (RuntimeException e) {
+            circuitBreaker.record(Outcome.IGNORED, 0);
+            throw e;
+        }
+        long startNanos = System.nanoTime();
+        Timer.Sample sample = lookupMetrics.startUpstream();
+        String status = LookupMetrics.IO_ERROR;
         try {
             // Use the RestTemplate to fetch the repository details from the GitHub API
             Map<String, String> uriVariables = new HashMap<>();
@@ -81,19 +616,95 @@ public class GithubRepositoryService {
             uriVariables.put("repositoryName", repositoryName);
 
             ResponseEntity<Github> response = restTemplate.exchange(
-                    GITHUB_API_URL, HttpMethod.GET, null, Github.class, uriVariables
+                    GITHUB_REPOSITORY_PATH, HttpMethod.GET, new HttpEntity<>(conditionalHeaders(previous)), Github.class, uriVariables
             );
-            if (!response.getStatusCode().equals(HttpStatus.OK)) {
+            status = String.valueOf(response.getStatusCode().value());
+            upstreamScheduler.recordResponse(response.getHeaders());
+            if (previous != null && response.getStatusCode().equals(HttpStatus.NOT_MODIFIED)) {
+                // 304s do not count against the GitHub rate limit, so this is the cheap path
+                return withFetchedAt(previous, clock.instant());
+            }
+            if (!response.getStatusCode().equals(HttpStatus.OK) || response.getBody() == null) {
                 LOGGER.error("Failed to fetch repository details from GitHub API for {}/{}", owner, repositoryName);
                 throw new RuntimeException("Failed to fetch repository details");
             }
-            return response.getBody();
+            Github github = response.getBody();
+            github.setEtag(response.getHeaders().getETag());
+            github.setLastModified(response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+            github.setFetchedAt(clock.instant());
+            return github;
         } catch (HttpClientErrorException.NotFound e) {
-            LOGGER.error("Repository not found on GitHub API for {}/{}", owner, repositoryName);
+            status = String.valueOf(e.getStatusCode().value());
+            LOGGER.debug("Repository not found on GitHub API for {}/{}", owner, repositoryName);
             throw new RepositoryNotFoundException(owner, repositoryName);
+        } catch (HttpClientErrorException.Forbidden | HttpClientErrorException.TooManyRequests e) {
+            status = String.valueOf(e.getStatusCode().value());
+            upstreamScheduler.recordResponse(e.getResponseHeaders());
+            if (upstreamScheduler.isRateLimited(e.getStatusCode(), e.getResponseHeaders())) {
+                LOGGER.error("GitHub API rate limit exhausted while fetching {}/{}", owner, repositoryName);
+                throw new RateLimitExceededException(upstreamScheduler.recordRateLimited(e.getResponseHeaders()));
+            }
+            LOGGER.error("GitHub API refused request for {}/{}", owner, repositoryName, e);
+            throw new RuntimeException(String.format("Repository '%s/%s' not found", owner, repositoryName));
         } catch (RestClientException e) {
+            if (e instanceof HttpStatusCodeException statusCodeException) {
+                status = String.valueOf(statusCodeException.getStatusCode().value());
+            }
             LOGGER.error("Error fetching repository details from GitHub API for {}/{}", owner, repositoryName, e);
             throw new RuntimeException(String.format("Repository '%s/%s' not found", owner, repositoryName));
+        } finally {
+            bulkhead.release();
+            circuitBreaker.record(outcomeOf(status), System.nanoTime() - startNanos);
+            lookupMetrics.recordUpstream(sample, priority, status);
+        }
+    }
+
+    static Outcome outcomeOf(String status) {
+        if (LookupMetrics.IO_ERROR.equals(status) || status.startsWith("5")) {
+            return Outcome.FAILURE;
+        }
+        // Rate-limit refusals are handled by the upstream scheduler, not by opening the circuit
+        return status.equals("403") || status.equals("429") ? Outcome.IGNORED : Outcome.SUCCESS;
+    }
+
+    /**
+     * Copies a repository with a new fetched-at timestamp. A {@code 304} must not touch the stored instance, which
+     * the L1 cache and coalesced callers may still be handing out.
+     */
+    static Github withFetchedAt(Github source, Instant fetchedAt) {
+        Github copy = new Github();
+        copy.setId(source.getId());
+        copy.setFullName(source.getFullName());
+        copy.setDescription(source.getDescription());
+        copy.setCloneUrl(source.getCloneUrl());
+        copy.setStars(source.getStars());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setEtag(source.getEtag());
+        copy.setLastModified(source.getLastModified());
+        copy.setFetchedAt(fetchedAt);
+        return copy;
+    }
+
+    /**
+     * Whether a revalidated repository still carries the stored validators, as after a {@code 304}, so only its
+     * fetched-at timestamp has to be written.
+     */
+    static boolean isUnchanged(Github revalidated, Github stored) {
+        return revalidated.getEtag() != null
+                ? revalidated.getEtag().equals(stored.getEtag())
+                : revalidated.getLastModified() != null && revalidated.getLastModified().equals(stored.getLastModified());
+    }
+
+    static HttpHeaders conditionalHeaders(Github previous) {
+        HttpHeaders headers = new HttpHeaders();
+        if (previous != null) {
+            if (previous.getEtag() != null) {
+                headers.setIfNoneMatch(previous.getEtag());
+            }
+            if (previous.getLastModified() != null) {
+                headers.set(HttpHeaders.IF_MODIFIED_SINCE, previous.getLastModified());
+            }
         }
+        return headers;
     }
 }
\ No newline at end of file
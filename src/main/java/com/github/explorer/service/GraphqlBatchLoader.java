@@ -0,0 +1,319 @@
+package com.github.explorer.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.explorer.exception.RateLimitExceededException;
+import com.github.explorer.exception.RepositoryNotFoundException;
+import com.github.explorer.exception.UpstreamTimeoutException;
+import com.github.explorer.metrics.LookupMetrics;
+import com.github.explorer.module.Github;
+import com.github.explorer.upstream.Bulkhead;
+import com.github.explorer.upstream.CircuitBreaker;
+import com.github.explorer.upstream.CircuitBreaker.Outcome;
+import com.github.explorer.upstream.UpstreamProperties;
+import com.github.explorer.upstream.UpstreamScheduler;
+import com.github.explorer.upstream.UpstreamScheduler.Priority;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects repository misses that arrive within a short window and resolves them with one GitHub GraphQL query.
+ * <p>
+ * The first miss of a batch opens a window of {@code explorer.upstream.graphql.window}; every miss arriving
+ * before it closes joins the same query as an aliased {@code repository(owner:, name:)} field, up to
+ * {@code max-batch-size}. A batch is one upstream call, so it passes the circuit breaker, the rate-limit
+ * scheduler and the bulkhead once. Callers block until their own repository is resolved.
+ */
+@Component
+public class GraphqlBatchLoader implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GraphqlBatchLoader.class);
+
+    private static final String REPOSITORY_FIELDS =
+            "fragment repository on Repository { nameWithOwner description url stargazerCount createdAt }";
+
+    private final UpstreamProperties properties;
+    private final UpstreamProperties.Graphql graphql;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final UpstreamScheduler upstreamScheduler;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final LookupMetrics lookupMetrics;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ScheduledExecutorService windowTimer;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private List<PendingLoad> batch = new ArrayList<>();
+    private long batchGeneration;
+
+    private Clock clock = Clock.systemUTC();
+
+    public GraphqlBatchLoader(UpstreamProperties properties, RestTemplate restTemplate, ObjectMapper objectMapper,
+                              UpstreamScheduler upstreamScheduler, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                              LookupMetrics lookupMetrics) {
+        this.properties = properties;
+        this.graphql = properties.getGraphql();
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.upstreamScheduler = upstreamScheduler;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.lookupMetrics = lookupMetrics;
+        if (graphql.isEnabled() && (graphql.getToken() == null || graphql.getToken().isBlank())) {
+            throw new IllegalStateException("explorer.upstream.graphql.token must be set when GraphQL batching is enabled");
+        }
+        this.windowTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "graphql-batch-window");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return graphql.isEnabled();
+    }
+
+    /**
+     * Resolves one repository as part of the current batch, waiting until the batch has been answered.
+     *
+     * @param owner          the owner of the repository
+     * @param repositoryName the name of the repository
+     * @return the repository details
+     * @throws RepositoryNotFoundException if GitHub reports the repository as missing
+     * @throws UpstreamTimeoutException    if the batch is not answered in time
+     */
+    public Github load(String owner, String repositoryName) {
+        PendingLoad load = new PendingLoad(owner, repositoryName, new CompletableFuture<>());
+        List<PendingLoad> full = null;
+        lock.lock();
+        try {
+            batch.add(load);
+            if (batch.size() >= graphql.getMaxBatchSize()) {
+                full = takeBatch();
+            } else if (batch.size() == 1) {
+                long generation = batchGeneration;
+                windowTimer.schedule(() -> flushWindow(generation), graphql.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            List<PendingLoad> loads = full;
+            executor.execute(() -> resolve(loads));
+        }
+        return await(load);
+    }
+
+    @Override
+    public void destroy() {
+        windowTimer.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void flushWindow(long generation) {
+        List<PendingLoad> loads;
+        lock.lock();
+        try {
+            // A batch that filled up early was already sent; its window must not cut the next one short
+            if (generation != batchGeneration || batch.isEmpty()) {
+                return;
+            }
+            loads = takeBatch();
+        } finally {
+            lock.unlock();
+        }
+        executor.execute(() -> resolve(loads));
+    }
+
+    private List<PendingLoad> takeBatch() {
+        List<PendingLoad> loads = batch;
+        batch = new ArrayList<>();
+        batchGeneration++;
+        return loads;
+    }
+
+    private Github await(PendingLoad load) {
+        String repositoryId = load.owner() + "/" + load.repositoryName();
+        // Every wait the batch can go through on its way upstream, so a slow but healthy batch is not abandoned
+        Duration timeout = graphql.getWindow()
+                .plus(properties.getRateLimit().getMaxWait())
+                .plus(properties.getBulkhead().getMaxWait())
+                .plus(properties.getConnectionAcquireTimeout())
+                .plus(properties.getConnectTimeout())
+                .plus(properties.getReadTimeout());
+        try {
+            return load.result().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new UpstreamTimeoutException(repositoryId, timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamTimeoutException(repositoryId, timeout);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void resolve(List<PendingLoad> loads) {
+        try {
+            JsonNode response = execute(loads);
+            JsonNode data = response.path("data");
+            for (int i = 0; i < loads.size(); i++) {
+                PendingLoad load = loads.get(i);
+                JsonNode repository = data.path(alias(i));
+                if (repository.isObject()) {
+                    load.result().complete(toGithub(repository));
+                } else {
+                    load.result().completeExceptionally(errorFor(response, alias(i), load));
+                }
+            }
+        } catch (RuntimeException e) {
+            loads.forEach(load -> load.result().completeExceptionally(e));
+        }
+    }
+
+    private JsonNode execute(List<PendingLoad> loads) {
+        circuitBreaker.acquirePermission();
+        try {
+            upstreamScheduler.acquire(Priority.INTERACTIVE);
+            try {
+                bulkhead.acquire();
+            } catch (RuntimeException e) {
+                // The batch is never sent, so the rate-limit token taken for it goes back
+                upstreamScheduler.release();
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            circuitBreaker.record(Outcome.IGNORED, 0);
+            throw e;
+        }
+        lookupMetrics.recordGraphqlBatch(loads.size());
+        long startNanos = System.nanoTime();
+        Timer.Sample sample = lookupMetrics.startUpstream();
+        String status = LookupMetrics.IO_ERROR;
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setBearerAuth(graphql.getToken());
+            ResponseEntity<JsonNode> response = restTemplate.exchange(
+                    graphql.getPath(), HttpMethod.POST, new HttpEntity<>(query(loads), headers), JsonNode.class);
+            status = String.valueOf(response.getStatusCode().value());
+            if (response.getBody() == null) {
+                throw new RuntimeException("Failed to fetch repository details");
+            }
+            // GraphQL has its own points budget, so its rate-limit headers are not fed to the REST scheduler
+            return response.getBody();
+        } catch (HttpStatusCodeException e) {
+            status = String.valueOf(e.getStatusCode().value());
+            if (upstreamScheduler.isRateLimited(e.getStatusCode(), e.getResponseHeaders())) {
+                LOGGER.error("GitHub GraphQL rate limit exhausted for a batch of {}", loads.size());
+                throw new RateLimitExceededException(upstreamScheduler.retryAt(e.getResponseHeaders()));
+            }
+            LOGGER.error("GitHub GraphQL API answered {} for a batch of {}", status, loads.size(), e);
+            throw new RuntimeException("Failed to fetch repository details");
+        } catch (RestClientException e) {
+            LOGGER.error("Error fetching a batch of {} repositories from the GitHub GraphQL API", loads.size(), e);
+            throw new RuntimeException("Failed to fetch repository details");
+        } finally {
+            bulkhead.release();
+            circuitBreaker.record(GithubRepositoryService.outcomeOf(status), System.nanoTime() - startNanos);
+            lookupMetrics.recordUpstream(sample, Priority.INTERACTIVE, status);
+        }
+    }
+
+    /**
+     * Builds the request body: one aliased field per repository, with owner and name passed as variables.
+     */
+    private ObjectNode query(List<PendingLoad> loads) {
+        StringBuilder declarations = new StringBuilder();
+        StringBuilder fields = new StringBuilder();
+        ObjectNode variables = objectMapper.createObjectNode();
+        for (int i = 0; i < loads.size(); i++) {
+            PendingLoad load = loads.get(i);
+            declarations.append(i == 0 ? "" : ", ").append("$o").append(i).append(": String!, $n").append(i).append(": String!");
+            fields.append(' ').append(alias(i)).append(": repository(owner: $o").append(i).append(", name: $n").append(i)
+                    .append(") { ...repository }");
+            variables.put("o" + i, load.owner());
+            variables.put("n" + i, load.repositoryName());
+        }
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("query", "query Repositories(" + declarations + ") {" + fields + " } " + REPOSITORY_FIELDS);
+        body.set("variables", variables);
+        return body;
+    }
+
+    private Github toGithub(JsonNode repository) {
+        Github github = new Github();
+        github.setFullName(repository.path("nameWithOwner").asText(null));
+        github.setDescription(repository.path("description").asText(null));
+        String url = repository.path("url").asText(null);
+        github.setCloneUrl(url != null ? url + ".git" : null);
+        github.setStars(repository.path("stargazerCount").asInt());
+        String createdAt = repository.path("createdAt").asText(null);
+        if (createdAt != null) {
+            github.setCreatedAt(LocalDateTime.ofInstant(OffsetDateTime.parse(createdAt).toInstant(), ZoneOffset.UTC));
+        }
+        // GraphQL answers carry no validators, so the next revalidation is an unconditional REST call
+        github.setFetchedAt(clock.instant());
+        return github;
+    }
+
+    private RuntimeException errorFor(JsonNode response, String alias, PendingLoad load) {
+        for (JsonNode error : response.path("errors")) {
+            JsonNode path = error.path("path");
+            boolean forAlias = path.isArray() && path.size() > 0 && alias.equals(path.get(0).asText());
+            String type = error.path("type").asText("");
+            if ("RATE_LIMITED".equals(type)) {
+                return new RateLimitExceededException(clock.instant().plus(Duration.ofMinutes(1)));
+            }
+            if (forAlias && "NOT_FOUND".equals(type)) {
+                LOGGER.debug("Repository not found on GitHub GraphQL API for {}/{}", load.owner(), load.repositoryName());
+                return new RepositoryNotFoundException(load.owner(), load.repositoryName());
+            }
+        }
+        LOGGER.error("GitHub GraphQL API returned no repository for {}/{}", load.owner(), load.repositoryName());
+        return new RuntimeException(String.format("Repository '%s/%s' not found", load.owner(), load.repositoryName()));
+    }
+
+    private static String alias(int index) {
+        return "r" + index;
+    }
+
+    record PendingLoad(String owner, String repositoryName, CompletableFuture<Github> result) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.explorer.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Page size limits for repository queries, bound from {@code explorer.query.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "explorer.query")
+public class QueryProperties {
+
+    /**
+     * Page size used when a query does not ask for one.
+     */
+    private int defaultLimit = 20;
+
+    /**
+     * Largest page size a query may ask for.
+     */
+    private int maxLimit = 100;
+}
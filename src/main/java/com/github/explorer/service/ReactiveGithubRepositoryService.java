@@ -0,0 +1,329 @@
+package com.github.explorer.service;
+
+import com.github.explorer.cache.CacheProperties;
+import com.github.explorer.cluster.PeerRouter;
+import com.github.explorer.cache.NegativeCache;
+import com.github.explorer.cache.RepositoryCache;
+import com.github.explorer.exception.RateLimitExceededException;
+import com.github.explorer.exception.RepositoryNotFoundException;
+import com.github.explorer.exception.UpstreamTimeoutException;
+import com.github.explorer.exception.UpstreamUnavailableException;
+import com.github.explorer.metrics.LookupMetrics;
+import com.github.explorer.metrics.LookupMetrics.Source;
+import com.github.explorer.module.Github;
+import com.github.explorer.repo.GithubRepository;
+import com.github.explorer.upstream.Bulkhead;
+import com.github.explorer.upstream.CircuitBreaker;
+import com.github.explorer.upstream.CircuitBreaker.Outcome;
+import com.github.explorer.upstream.UpstreamScheduler;
+import com.github.explorer.upstream.UpstreamScheduler.Priority;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Non-blocking variant of the single-repository lookup in {@link GithubRepositoryService}, used in reactive mode.
+ * <p>
+ * Follows the same cache, freshness and upstream rules. Cache hits and GitHub calls never block. The store is
+ * shared with the servlet stack through Spring Data JPA, and Hibernate only talks JDBC; moving it to R2DBC would
+ * mean a second, non-JPA repository layer for the same table. The JPA reads and writes therefore run on the
+ * bounded elastic scheduler so they stay off the event loop. Background refreshes are left to
+ * {@link GithubRepositoryService}.
+ * <p>
+ * Misses always go to the GitHub REST API. Peer forwarding and GraphQL batching are not supported here, so
+ * startup fails if either is enabled together with reactive mode.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGithubRepositoryService implements InitializingBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveGithubRepositoryService.class);
+
+    @Autowired
+    private GithubRepositoryService githubRepositoryService;
+
+    @Autowired
+    private GithubRepository githubRepository;
+
+    @Autowired
+    private RepositoryCache repositoryCache;
+
+    @Autowired
+    private NegativeCache negativeCache;
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    @Autowired
+    private UpstreamScheduler upstreamScheduler;
+
+    @Autowired
+    private CircuitBreaker circuitBreaker;
+
+    @Autowired
+    private Bulkhead bulkhead;
+
+    @Autowired
+    private WriteBehindQueue writeBehindQueue;
+
+    @Autowired
+    private LookupMetrics lookupMetrics;
+
+    @Autowired
+    private WebClient githubWebClient;
+
+    @Autowired
+    private PeerRouter peerRouter;
+
+    @Autowired
+    private GraphqlBatchLoader graphqlBatchLoader;
+
+    private final ConcurrentMap<String, Mono<Github>> inFlightLoads = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        if (peerRouter.isEnabled()) {
+            throw new IllegalStateException("explorer.cluster.enabled is not supported in reactive mode");
+        }
+        if (graphqlBatchLoader.isEnabled()) {
+            throw new IllegalStateException("explorer.upstream.graphql.enabled is not supported in reactive mode");
+        }
+    }
+
+    /**
+     * Retrieves the details of a GitHub repository without blocking the calling thread.
+     *
+     * @param owner          the owner of the repository
+     * @param repositoryName the name of the repository
+     * @return the GitHub repository details, or an error with the same exception types as the blocking lookup
+     */
+    public Mono<Github> getRepositoryDetails(String owner, String repositoryName) {
+        if (owner == null || owner.isEmpty() || repositoryName == null || repositoryName.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Owner and repository name must not be null or empty"));
+        }
+
+        String repositoryId = String.format("%s/%s", owner, repositoryName);
+        Github cached = repositoryCache.get(repositoryId);
+        if (cached != null) {
+            GithubRepositoryService.Freshness freshness = githubRepositoryService.freshness(cached);
+            if (freshness == GithubRepositoryService.Freshness.STALE) {
+                githubRepositoryService.scheduleRefresh(repositoryId);
+            }
+            if (freshness != GithubRepositoryService.Freshness.EXPIRED) {
+                lookupMetrics.recordLookup(Source.CACHE);
+                return Mono.just(cached);
+            }
+        } else if (negativeCache.isKnownMissing(repositoryId)) {
+            lookupMetrics.recordLookup(Source.NEGATIVE_CACHE);
+            return Mono.error(new RepositoryNotFoundException(owner, repositoryName));
+        }
+
+        AtomicReference<Mono<Github>> self = new AtomicReference<>();
+        Mono<Github> load = loadRepositoryDetails(repositoryId, owner, repositoryName)
+                .doFinally(signal -> inFlightLoads.remove(repositoryId, self.get()))
+                .cache();
+        self.set(load);
+        Mono<Github> existing = inFlightLoads.putIfAbsent(repositoryId, load);
+        if (existing == null) {
+            return load;
+        }
+        lookupMetrics.recordLookup(Source.COALESCED);
+        Duration waitTimeout = cacheProperties.getLoadWaitTimeout();
+        return existing.timeout(waitTimeout, Mono.error(() -> new UpstreamTimeoutException(repositoryId, waitTimeout)));
+    }
+
+    /**
+     * Returns the number of repositories currently being loaded by reactive lookups.
+     *
+     * @return the in-flight load count
+     */
+    public int inFlightLoadCount() {
+        return inFlightLoads.size();
+    }
+
+    private Mono<Github> loadRepositoryDetails(String repositoryId, String owner, String repositoryName) {
+        return blocking(() -> githubRepository.findById(repositoryId).orElseGet(() -> writeBehindQueue.pending(repositoryId)))
+                .flatMap(stored -> switch (githubRepositoryService.freshness(stored)) {
+                    case FRESH -> {
+                        lookupMetrics.recordLookup(Source.DATABASE);
+                        yield Mono.just(stored);
+                    }
+                    case STALE -> {
+                        lookupMetrics.recordLookup(Source.DATABASE);
+                        githubRepositoryService.scheduleRefresh(repositoryId);
+                        yield Mono.just(stored);
+                    }
+                    case EXPIRED -> {
+                        lookupMetrics.recordLookup(Source.UPSTREAM);
+                        yield revalidateOrServeStored(stored, owner, repositoryName);
+                    }
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    lookupMetrics.recordLookup(Source.UPSTREAM);
+                    return fetchAndSaveRepositoryDetails(repositoryId, owner, repositoryName);
+                }))
+                .doOnNext(github -> repositoryCache.put(repositoryId, github));
+    }
+
+    private Mono<Github> revalidateOrServeStored(Github stored, String owner, String repositoryName) {
+        return fetchRepositoryDetailsFromGithub(owner, repositoryName, stored)
+                .flatMap(github -> blocking(() -> {
+                    github.setId(stored.getId());
+                    if (GithubRepositoryService.isUnchanged(github, stored)) {
+                        githubRepositoryService.persistRevalidated(github);
+                    } else {
+                        githubRepositoryService.persist(github);
+                    }
+                    return github;
+                }))
+                .onErrorResume(RepositoryNotFoundException.class, e -> blocking(() -> {
+                    githubRepositoryService.forgetRepository(stored.getId());
+                    return null;
+                }).then(Mono.error(e)))
+                .onErrorResume(UpstreamUnavailableException.class, e -> {
+                    LOGGER.debug("GitHub unavailable, serving stored copy of {}", stored.getId());
+                    return Mono.just(stored);
+                })
+                .onErrorResume(e -> e instanceof RuntimeException && !(e instanceof RepositoryNotFoundException), e -> {
+                    LOGGER.warn("Revalidation failed for {}, serving stored copy", stored.getId());
+                    return Mono.just(stored);
+                });
+    }
+
+    private Mono<Github> fetchAndSaveRepositoryDetails(String repositoryId, String owner, String repositoryName) {
+        return fetchRepositoryDetailsFromGithub(owner, repositoryName, null)
+                // Only a genuine 404 is remembered; transient failures surface as other exceptions
+                .doOnError(RepositoryNotFoundException.class, e -> negativeCache.recordMissing(repositoryId))
+                .flatMap(github -> blocking(() -> {
+                    github.setId(repositoryId);
+                    githubRepositoryService.persist(github);
+                    return github;
+                }));
+    }
+
+    /**
+     * Fetches the details of a GitHub repository through the circuit breaker, the upstream scheduler and the
+     * bulkhead, waiting for a rate-limit token on a timer instead of a sleeping thread.
+     *
+     * @param owner          the owner of the repository
+     * @param repositoryName the name of the repository
+     * @param previous       the previously fetched copy whose validators are sent, or null for an unconditional request
+     * @return the fetched repository details, or a copy of {@code previous} with a new fetched-at timestamp if it was not modified
+     */
+    Mono<Github> fetchRepositoryDetailsFromGithub(String owner, String repositoryName, Github previous) {
+        return Mono.defer(() -> {
+            LOGGER.debug("Fetching repository details from GitHub API for {}/{}", owner, repositoryName);
+            circuitBreaker.acquirePermission();
+            Duration wait;
+            try {
+                wait = upstreamScheduler.reserve(Priority.INTERACTIVE);
+            } catch (RuntimeException e) {
+                circuitBreaker.record(Outcome.IGNORED, 0);
+                throw e;
+            }
+            Mono<Github> exchange = Mono.defer(() -> exchange(owner, repositoryName, previous));
+            if (wait.isZero()) {
+                return exchange;
+            }
+            return Mono.delay(wait)
+                    .doOnCancel(() -> {
+                        // The request was never sent, so the reserved token goes back to the bucket
+                        upstreamScheduler.release();
+                        circuitBreaker.record(Outcome.IGNORED, 0);
+                    })
+                    .then(exchange);
+        });
+    }
+
+    private Mono<Github> exchange(String owner, String repositoryName, Github previous) {
+        try {
+            // Waiting for a slot would park the event loop, so a full bulkhead rejects at once
+            bulkhead.acquire(Duration.ZERO);
+        } catch (RuntimeException e) {
+            upstreamScheduler.release();
+            circuitBreaker.record(Outcome.IGNORED, 0);
+            return Mono.error(e);
+        }
+        long startNanos = System.nanoTime();
+        Timer.Sample sample = lookupMetrics.startUpstream();
+        AtomicReference<String> status = new AtomicReference<>(LookupMetrics.IO_ERROR);
+        return githubWebClient.get()
+                .uri(GithubRepositoryService.GITHUB_REPOSITORY_PATH, owner, repositoryName)
+                .headers(headers -> headers.addAll(GithubRepositoryService.conditionalHeaders(previous)))
+                .exchangeToMono(response -> {
+                    status.set(String.valueOf(response.statusCode().value()));
+                    upstreamScheduler.recordResponse(response.headers().asHttpHeaders());
+                    return readRepository(response, owner, repositoryName, previous);
+                })
+                .onErrorMap(WebClientRequestException.class, e -> {
+                    LOGGER.error("Error fetching repository details from GitHub API for {}/{}", owner, repositoryName, e);
+                    return new RuntimeException(String.format("Repository '%s/%s' not found", owner, repositoryName));
+                })
+                .doFinally(signal -> {
+                    bulkhead.release();
+                    Outcome outcome = signal == SignalType.CANCEL
+                            ? Outcome.IGNORED
+                            : GithubRepositoryService.outcomeOf(status.get());
+                    circuitBreaker.record(outcome, System.nanoTime() - startNanos);
+                    lookupMetrics.recordUpstream(sample, Priority.INTERACTIVE, status.get());
+                });
+    }
+
+    private Mono<Github> readRepository(ClientResponse response, String owner, String repositoryName, Github previous) {
+        HttpStatusCode statusCode = response.statusCode();
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        if (previous != null && statusCode.isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            // 304s do not count against the GitHub rate limit, so this is the cheap path
+            Github revalidated = GithubRepositoryService.withFetchedAt(previous, githubRepositoryService.now());
+            return response.releaseBody().thenReturn(revalidated);
+        }
+        if (statusCode.isSameCodeAs(HttpStatus.OK)) {
+            return response.bodyToMono(Github.class)
+                    .map(github -> {
+                        github.setEtag(headers.getETag());
+                        github.setLastModified(headers.getFirst(HttpHeaders.LAST_MODIFIED));
+                        github.setFetchedAt(githubRepositoryService.now());
+                        return github;
+                    })
+                    .switchIfEmpty(Mono.error(() -> {
+                        LOGGER.error("Failed to fetch repository details from GitHub API for {}/{}", owner, repositoryName);
+                        return new RuntimeException("Failed to fetch repository details");
+                    }));
+        }
+        RuntimeException error;
+        if (statusCode.isSameCodeAs(HttpStatus.NOT_FOUND)) {
+            LOGGER.debug("Repository not found on GitHub API for {}/{}", owner, repositoryName);
+            error = new RepositoryNotFoundException(owner, repositoryName);
+        } else if (upstreamScheduler.isRateLimited(statusCode, headers)) {
+            LOGGER.error("GitHub API rate limit exhausted while fetching {}/{}", owner, repositoryName);
+            error = new RateLimitExceededException(upstreamScheduler.recordRateLimited(headers));
+        } else {
+            LOGGER.error("GitHub API answered {} for {}/{}", statusCode.value(), owner, repositoryName);
+            error = new RuntimeException(String.format("Repository '%s/%s' not found", owner, repositoryName));
+        }
+        return response.releaseBody().then(Mono.error(error));
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
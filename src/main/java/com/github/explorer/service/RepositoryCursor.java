@@ -0,0 +1,71 @@
+package com.github.explorer.service;
+
+import com.github.explorer.module.Github;
+import com.github.explorer.module.RepositoryQuery.SortField;
+import com.github.explorer.repo.GithubSpecifications;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last row of a query page: its sort value and id, plus the ordering they belong to.
+ * <p>
+ * Encoded as opaque URL-safe Base64 so clients pass it back unchanged.
+ */
+record RepositoryCursor(SortField sort, Sort.Direction direction, String value, String id) {
+
+    private static final char SEPARATOR = '\n';
+
+    static RepositoryCursor of(SortField sort, Sort.Direction direction, Github last) {
+        String value = switch (sort) {
+            case STARS -> String.valueOf(last.getStars());
+            case CREATED_AT -> last.getCreatedAt().toString();
+        };
+        return new RepositoryCursor(sort, direction, value, last.getId());
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode()}.
+     *
+     * @param encoded the encoded cursor
+     * @return the cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static RepositoryCursor decode(String encoded) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8)
+                    .split(String.valueOf(SEPARATOR), 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            RepositoryCursor cursor = new RepositoryCursor(SortField.valueOf(parts[0]), Sort.Direction.valueOf(parts[1]),
+                    parts[2], parts[3]);
+            // Parses the sort value, so a tampered cursor fails here rather than inside the query
+            cursor.seek();
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    String encode() {
+        String raw = sort.name() + SEPARATOR + direction.name() + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the condition matching the rows after this position.
+     *
+     * @return the keyset specification
+     */
+    Specification<Github> seek() {
+        return switch (sort) {
+            case STARS -> GithubSpecifications.after(sort.attribute(), direction, Integer.valueOf(value), id);
+            case CREATED_AT -> GithubSpecifications.after(sort.attribute(), direction, LocalDateTime.parse(value), id);
+        };
+    }
+}
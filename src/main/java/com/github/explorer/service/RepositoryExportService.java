@@ -0,0 +1,70 @@
+package com.github.explorer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.explorer.module.Github;
+import com.github.explorer.repo.GithubRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class RepositoryExportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RepositoryExportService.class);
+
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private GithubRepository githubRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Writes every stored repository to the output stream as newline-delimited JSON, in id order.
+     * <p>
+     * Rows are streamed from the database and detached as soon as they are written, so memory use does not
+     * depend on the number of rows. The {@code id} of the last line written can be passed back as
+     * {@code after} to resume an interrupted export. Only the database is read: repositories still queued in the
+     * {@link WriteBehindQueue} appear once they are flushed.
+     *
+     * @param after the id to resume after, or null to export from the beginning
+     * @param out   the stream to write to; flushed but not closed
+     * @return the number of repositories written
+     */
+    @Transactional(readOnly = true)
+    public long exportRepositories(String after, OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(Github.class);
+        long written = 0;
+        try (Stream<Github> repositories = githubRepository.streamAllAfter(after == null ? "" : after)) {
+            Iterator<Github> iterator = repositories.iterator();
+            while (iterator.hasNext()) {
+                Github github = iterator.next();
+                out.write(writer.writeValueAsBytes(github));
+                out.write('\n');
+                entityManager.detach(github);
+                if (++written % FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export aborted after " + written + " repositories", e);
+        }
+        LOGGER.info("Exported {} repositories", written);
+        return written;
+    }
+}
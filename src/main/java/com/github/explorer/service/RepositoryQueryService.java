@@ -0,0 +1,90 @@
+package com.github.explorer.service;
+
+import com.github.explorer.module.Github;
+import com.github.explorer.module.RepositoryPage;
+import com.github.explorer.module.RepositoryQuery;
+import com.github.explorer.repo.GithubRepository;
+import com.github.explorer.repo.GithubSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class RepositoryQueryService {
+
+    @Autowired
+    private GithubRepository githubRepository;
+
+    @Autowired
+    private QueryProperties queryProperties;
+
+    /**
+     * Returns one page of stored repositories matching the query.
+     * <p>
+     * Pages are addressed with a keyset cursor rather than an offset: each page seeks directly to the row after
+     * the previous page in the {@code (sort attribute, id)} index, so a deep page costs the same as the first.
+     * Repositories without a creation time are left out when sorting by it.
+     *
+     * @param query the filters, ordering and page position
+     * @return the matching repositories and the cursor of the next page
+     * @throws IllegalArgumentException if the query is invalid or the cursor belongs to a different ordering
+     */
+    @Transactional(readOnly = true)
+    public RepositoryPage search(RepositoryQuery query) {
+        int limit = query.limit() != null ? query.limit() : queryProperties.getDefaultLimit();
+        if (limit < 1 || limit > queryProperties.getMaxLimit()) {
+            throw new IllegalArgumentException(
+                    String.format("Limit must be between 1 and %d", queryProperties.getMaxLimit()));
+        }
+        if (query.minStars() != null && query.maxStars() != null && query.minStars() > query.maxStars()) {
+            throw new IllegalArgumentException("minStars must not be greater than maxStars");
+        }
+
+        Specification<Github> specification = filters(query);
+        if (query.cursor() != null) {
+            RepositoryCursor cursor = RepositoryCursor.decode(query.cursor());
+            if (cursor.sort() != query.sort() || cursor.direction() != query.direction()) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort order");
+            }
+            specification = specification.and(cursor.seek());
+        }
+
+        Sort sort = Sort.by(query.direction(), query.sort().attribute(), "id");
+        // One extra row tells whether another page follows without a count query
+        List<Github> rows = githubRepository.findBy(specification, q -> q.sortBy(sort).limit(limit + 1).all());
+        if (rows.size() <= limit) {
+            return new RepositoryPage(rows, null);
+        }
+        List<Github> items = new ArrayList<>(rows.subList(0, limit));
+        String nextCursor = RepositoryCursor.of(query.sort(), query.direction(), items.get(limit - 1)).encode();
+        return new RepositoryPage(items, nextCursor);
+    }
+
+    private static Specification<Github> filters(RepositoryQuery query) {
+        List<Specification<Github>> filters = new ArrayList<>();
+        if (query.minStars() != null) {
+            filters.add(GithubSpecifications.starsAtLeast(query.minStars()));
+        }
+        if (query.maxStars() != null) {
+            filters.add(GithubSpecifications.starsAtMost(query.maxStars()));
+        }
+        if (query.createdFrom() != null) {
+            filters.add(GithubSpecifications.createdFrom(query.createdFrom().atStartOfDay()));
+        }
+        if (query.createdBefore() != null) {
+            filters.add(GithubSpecifications.createdBefore(query.createdBefore().atStartOfDay()));
+        }
+        if (query.ownerPrefix() != null && !query.ownerPrefix().isEmpty()) {
+            filters.add(GithubSpecifications.idStartsWith(query.ownerPrefix()));
+        }
+        if (query.sort() == RepositoryQuery.SortField.CREATED_AT) {
+            filters.add(GithubSpecifications.hasValue(query.sort().attribute()));
+        }
+        return Specification.allOf(filters);
+    }
+}
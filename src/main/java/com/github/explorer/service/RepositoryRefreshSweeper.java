@@ -0,0 +1,57 @@
+package com.github.explorer.service;
+
+import com.github.explorer.cache.CacheProperties;
+import com.github.explorer.repo.GithubRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Periodically queues background refreshes for repositories that are about to pass their soft TTL,
+ * so readers rarely see a stale entry and almost never wait on a synchronous revalidation.
+ * <p>
+ * Each sweep continues from the last id of the previous one and wraps around once it runs out, so entries
+ * whose refresh was skipped, for example to spare the rate limit, do not hold back the rest.
+ */
+@Component
+public class RepositoryRefreshSweeper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RepositoryRefreshSweeper.class);
+
+    @Autowired
+    private GithubRepository githubRepository;
+
+    @Autowired
+    private GithubRepositoryService githubRepositoryService;
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    // Only touched by the scheduler thread, since sweeps never overlap
+    private String cursor = "";
+
+    @Scheduled(fixedDelayString = "${explorer.cache.refresh.sweep-interval:PT1M}",
+            initialDelayString = "${explorer.cache.refresh.sweep-interval:PT1M}")
+    public void sweep() {
+        CacheProperties.Refresh refresh = cacheProperties.getRefresh();
+        Instant threshold = Instant.now().minus(cacheProperties.getSoftTtl()).plus(refresh.getSweepAhead());
+        List<String> due = githubRepository.findIdsFetchedBefore(threshold, cursor, PageRequest.of(0, refresh.getBatchSize()));
+        cursor = due.size() < refresh.getBatchSize() ? "" : due.get(due.size() - 1);
+
+        int queued = 0;
+        for (String repositoryId : due) {
+            if (githubRepositoryService.scheduleRefresh(repositoryId, refresh.getSweepAhead())) {
+                queued++;
+            }
+        }
+        if (!due.isEmpty()) {
+            LOGGER.info("Queued {} of {} repositories due for refresh", queued, due.size());
+        }
+    }
+}
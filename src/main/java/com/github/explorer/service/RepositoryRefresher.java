@@ -0,0 +1,79 @@
+package com.github.explorer.service;
+
+import com.github.explorer.cache.CacheProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs background refreshes on virtual threads, at most one per repository id and at most
+ * {@code explorer.cache.refresh.max-pending} at a time. Work beyond that bound is dropped;
+ * the next stale read or sweep queues it again.
+ */
+@Component
+public class RepositoryRefresher implements DisposableBean, MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RepositoryRefresher.class);
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RepositoryRefresher(CacheProperties properties) {
+        this.permits = new Semaphore(properties.getRefresh().getMaxPending());
+    }
+
+    /**
+     * Queues a refresh unless one is already pending for the repository or the queue is full.
+     *
+     * @param repositoryId the {@code owner/repositoryName} id
+     * @param refresh      the refresh to run
+     * @return true if the refresh was queued
+     */
+    public boolean submit(String repositoryId, Runnable refresh) {
+        if (!pending.add(repositoryId)) {
+            return false;
+        }
+        if (!permits.tryAcquire()) {
+            pending.remove(repositoryId);
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                refresh.run();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Background refresh failed for {}", repositoryId, e);
+            } finally {
+                pending.remove(repositoryId);
+                permits.release();
+            }
+        });
+        return true;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("explorer.refresh.pending", this, RepositoryRefresher::pendingCount)
+                .description("Background refreshes queued or running")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.explorer.service;
+
+import com.github.explorer.module.Github;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Versioned binary encoding of repository snapshots.
+ * <p>
+ * Layout, big-endian: a header of magic {@code GHXS}, format version and creation time; one record per
+ * repository, each preceded by a {@code 1} marker byte; and a {@code 0} marker byte followed by the record count.
+ * Strings are a length-prefixed UTF-8 byte sequence, with length {@code -1} for null; timestamps are epoch
+ * values, with {@link Long#MIN_VALUE} for null.
+ */
+public final class RepositorySnapshotCodec {
+
+    static final int MAGIC = 0x47485853;
+    static final int VERSION = 1;
+
+    private static final byte RECORD = 1;
+    private static final byte END = 0;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private RepositorySnapshotCodec() {
+    }
+
+    /**
+     * Writes a snapshot of the given repositories.
+     *
+     * @param repositories the repositories to write
+     * @param out          the stream to write to; not closed
+     * @return the number of repositories written
+     */
+    public static long write(Iterator<Github> repositories, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(System.currentTimeMillis());
+        long count = 0;
+        while (repositories.hasNext()) {
+            Github github = repositories.next();
+            out.writeByte(RECORD);
+            writeString(out, github.getId());
+            writeString(out, github.getFullName());
+            writeString(out, github.getDescription());
+            writeString(out, github.getCloneUrl());
+            out.writeInt(github.getStars());
+            out.writeLong(github.getCreatedAt() != null ? github.getCreatedAt().toEpochSecond(ZoneOffset.UTC) : NULL_TIME);
+            writeString(out, github.getEtag());
+            writeString(out, github.getLastModified());
+            out.writeLong(github.getFetchedAt() != null ? github.getFetchedAt().toEpochMilli() : NULL_TIME);
+            count++;
+        }
+        out.writeByte(END);
+        out.writeLong(count);
+        return count;
+    }
+
+    /**
+     * Reads a snapshot, handing every repository to the consumer.
+     *
+     * @param buffer   the snapshot bytes, typically a memory-mapped file
+     * @param consumer receives each decoded repository
+     * @return the number of repositories read
+     * @throws IllegalArgumentException if the buffer is not a snapshot of a supported version, or is truncated or corrupt
+     */
+    public static long read(ByteBuffer buffer, Consumer<Github> consumer) {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a repository snapshot");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot version " + version);
+            }
+            buffer.getLong();
+            long count = 0;
+            while (buffer.get() == RECORD) {
+                Github github = new Github();
+                github.setId(readString(buffer));
+                github.setFullName(readString(buffer));
+                github.setDescription(readString(buffer));
+                github.setCloneUrl(readString(buffer));
+                github.setStars(buffer.getInt());
+                long createdAt = buffer.getLong();
+                github.setCreatedAt(createdAt != NULL_TIME ? LocalDateTime.ofEpochSecond(createdAt, 0, ZoneOffset.UTC) : null);
+                github.setEtag(readString(buffer));
+                github.setLastModified(readString(buffer));
+                long fetchedAt = buffer.getLong();
+                github.setFetchedAt(fetchedAt != NULL_TIME ? Instant.ofEpochMilli(fetchedAt) : null);
+                consumer.accept(github);
+                count++;
+            }
+            long expected = buffer.getLong();
+            if (expected != count) {
+                throw new IllegalArgumentException("Snapshot holds " + count + " records but declares " + expected);
+            }
+            return count;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated repository snapshot", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < -1 || length > buffer.remaining()) {
+            // A bad length would otherwise allocate up to 2 GB before the read fails
+            throw new IllegalArgumentException("Corrupt repository snapshot: string of " + length + " bytes");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
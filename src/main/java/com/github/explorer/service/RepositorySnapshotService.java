@@ -0,0 +1,185 @@
+package com.github.explorer.service;
+
+import com.github.explorer.module.Github;
+import com.github.explorer.repo.GithubBatchWriter;
+import com.github.explorer.repo.GithubRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Saves the repository cache to a local snapshot file periodically and on shutdown, and restores it on startup.
+ * <p>
+ * Restoring happens in {@link #start()}, which runs before the embedded web server starts, so the application
+ * only reports ready once the cache is warm. Stopping runs after the write-behind queue has drained.
+ */
+@Service
+public class RepositorySnapshotService implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RepositorySnapshotService.class);
+
+    private static final int RESTORE_BATCH_SIZE = 1_000;
+
+    @Autowired
+    private SnapshotProperties snapshotProperties;
+
+    @Autowired
+    private GithubRepository githubRepository;
+
+    @Autowired
+    private GithubBatchWriter githubBatchWriter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // The scheduled save and the shutdown save write the same temporary file
+    private final ReentrantLock saveLock = new ReentrantLock();
+
+    private volatile boolean running;
+
+    /**
+     * Restores the snapshot file, if there is one, into the database.
+     * <p>
+     * A file that is truncated or corrupt anywhere is ignored as a whole.
+     *
+     * @return the number of repositories restored
+     */
+    public long restore() {
+        Path path = snapshotProperties.getPath();
+        if (!Files.isRegularFile(path)) {
+            LOGGER.info("No repository snapshot at {}, starting cold", path);
+            return 0;
+        }
+        long start = System.nanoTime();
+        List<Github> batch = new ArrayList<>(RESTORE_BATCH_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            // Decode the whole file once before writing anything, so a corrupt tail cannot leave a partial restore
+            RepositorySnapshotCodec.read(buffer.duplicate(), github -> {
+            });
+            long restored = RepositorySnapshotCodec.read(buffer, github -> {
+                batch.add(github);
+                if (batch.size() == RESTORE_BATCH_SIZE) {
+                    githubBatchWriter.upsertAll(batch);
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                githubBatchWriter.upsertAll(batch);
+            }
+            LOGGER.info("Restored {} repositories from {} in {} ms", restored, path, (System.nanoTime() - start) / 1_000_000);
+            return restored;
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warn("Ignoring unreadable repository snapshot at {}", path, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Writes all stored repositories to the snapshot file, replacing the previous snapshot atomically.
+     * <p>
+     * Concurrent saves run one after the other.
+     *
+     * @return the number of repositories written
+     */
+    public long save() {
+        saveLock.lock();
+        try {
+            return saveNow();
+        } finally {
+            saveLock.unlock();
+        }
+    }
+
+    private long saveNow() {
+        Path path = snapshotProperties.getPath();
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Long written = transaction.execute(status -> {
+            try {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                try (Stream<Github> repositories = githubRepository.streamAllAfter("");
+                     DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    Iterator<Github> iterator = repositories.peek(entityManager::detach).iterator();
+                    return RepositorySnapshotCodec.write(iterator, out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        try {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        LOGGER.info("Saved {} repositories to {}", written, path);
+        return written;
+    }
+
+    @Scheduled(fixedDelayString = "${explorer.snapshot.interval:PT5M}", initialDelayString = "${explorer.snapshot.interval:PT5M}")
+    public void savePeriodically() {
+        if (running) {
+            save();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (snapshotProperties.isEnabled()) {
+            restore();
+            running = true;
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            save();
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not save repository snapshot on shutdown", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Start before the write-behind queue and the web server, stop after both
+        return WriteBehindQueue.PHASE - 1;
+    }
+}
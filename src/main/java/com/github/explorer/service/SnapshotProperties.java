@@ -0,0 +1,30 @@
+package com.github.explorer.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the warm-start snapshot of the repository cache, bound from {@code explorer.snapshot.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "explorer.snapshot")
+public class SnapshotProperties {
+
+    /**
+     * Whether the cache is saved to disk periodically and on shutdown, and restored on startup.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Location of the snapshot file.
+     */
+    private Path path = Path.of("data", "repositories.snapshot");
+
+    /**
+     * Delay between two periodic snapshots.
+     */
+    private Duration interval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,44 @@
+package com.github.explorer.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for write-behind persistence of fetched repositories, bound from {@code explorer.write-behind.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "explorer.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * Whether freshly fetched repositories are queued and written in batches instead of saved inline.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of repositories waiting to be written.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Number of repositories that triggers an immediate flush.
+     */
+    private int batchSize = 200;
+
+    /**
+     * Longest a queued repository waits before it is flushed.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * How long a request waits for room in a full queue before writing inline instead.
+     */
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    /**
+     * How long shutdown waits for the queue to drain.
+     */
+    private Duration drainTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,246 @@
+package com.github.explorer.service;
+
+import com.github.explorer.metrics.LookupMetrics;
+import com.github.explorer.metrics.LookupMetrics.SaveMode;
+import com.github.explorer.module.Github;
+import com.github.explorer.repo.GithubBatchWriter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded queue of fetched repositories that a background flusher writes as JDBC batch upserts,
+ * whenever {@code batch-size} entries are waiting or {@code flush-interval} has elapsed.
+ * <p>
+ * Queued repositories stay readable through {@link #pending(String)} until they are written. When the
+ * queue is full, {@link #enqueue(Github)} waits briefly and then reports failure so the caller writes
+ * inline, which throttles producers to the speed of the database. Stopping the context drains the queue.
+ * <p>
+ * Only the latest copy of a repository is written: a copy superseded by a later {@link #enqueue(Github)}, or
+ * dropped by {@link #writeThrough(String, Runnable)} for a direct write or delete, is skipped by the flusher.
+ */
+@Component
+public class WriteBehindQueue implements SmartLifecycle, MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    /**
+     * Lifecycle phase well below the embedded web server's, so the queue stops only after requests have stopped.
+     */
+    static final int PHASE = 0;
+
+    // Upper bound for a single blocking poll, so a stop request is noticed promptly
+    private static final long MAX_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final WriteBehindProperties properties;
+    private final GithubBatchWriter githubBatchWriter;
+    private final LookupMetrics lookupMetrics;
+    private final BlockingQueue<Github> queue;
+    private final ConcurrentMap<String, Github> pending = new ConcurrentHashMap<>();
+    private final ReadWriteLock stopLock = new ReentrantReadWriteLock();
+    // Held while a batch is written, so a direct write cannot interleave with an older copy of the same row
+    private final Lock flushLock = new ReentrantLock();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public WriteBehindQueue(WriteBehindProperties properties, GithubBatchWriter githubBatchWriter,
+                            LookupMetrics lookupMetrics) {
+        this.properties = properties;
+        this.githubBatchWriter = githubBatchWriter;
+        this.lookupMetrics = lookupMetrics;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+    }
+
+    /**
+     * Queues a repository for a batched write.
+     *
+     * @param github the repository to write; its id must be set
+     * @return true if it was queued, false if write-behind is off or the queue stayed full, in which case
+     * the caller must write it itself
+     */
+    public boolean enqueue(Github github) {
+        // Held across the check and the offer, so stop() cannot slip in between and leave the write behind
+        stopLock.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            pending.put(github.getId(), github);
+            try {
+                if (queue.offer(github, properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pending.remove(github.getId(), github);
+            return false;
+        } finally {
+            stopLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a repository that is queued but not written yet.
+     *
+     * @param repositoryId the {@code owner/repositoryName} id
+     * @return the queued repository, or null
+     */
+    public Github pending(String repositoryId) {
+        return pending.get(repositoryId);
+    }
+
+    /**
+     * Drops any queued copy of a repository and runs a direct write or delete of it while no batch is being
+     * written, so neither an older queued copy nor a batch already in flight can land after it.
+     *
+     * @param repositoryId the {@code owner/repositoryName} id
+     * @param write        the direct write or delete
+     */
+    public void writeThrough(String repositoryId, Runnable write) {
+        if (!properties.isEnabled()) {
+            write.run();
+            return;
+        }
+        flushLock.lock();
+        try {
+            pending.remove(repositoryId);
+            write.run();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("explorer.write_behind.queued", this, WriteBehindQueue::size)
+                .description("Fetched repositories waiting to be written")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        flusher = Thread.ofPlatform().name("write-behind-flusher").daemon().start(this::flushLoop);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        stopLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            stopLock.writeLock().unlock();
+        }
+        try {
+            flusher.join(properties.getDrainTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            LOGGER.error("Write-behind queue not drained on shutdown, {} repositories were not written", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void flushLoop() {
+        List<Github> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                flush(List.copyOf(batch));
+                batch.clear();
+            }
+        }
+    }
+
+    private void collectBatch(List<Github> batch) throws InterruptedException {
+        Github first = queue.poll(Math.min(properties.getFlushInterval().toNanos(), MAX_POLL_NANOS), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.getFlushInterval().toNanos();
+        while (batch.size() < properties.getBatchSize()) {
+            queue.drainTo(batch, properties.getBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.getBatchSize() || remaining <= 0 || !running) {
+                return;
+            }
+            Github next = queue.poll(Math.min(remaining, MAX_POLL_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    private void flush(List<Github> queued) {
+        flushLock.lock();
+        try {
+            List<Github> batch = queued.stream()
+                    .filter(github -> pending.get(github.getId()) == github)
+                    .toList();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                lookupMetrics.recordSave(SaveMode.BATCH, () -> githubBatchWriter.upsertAll(batch));
+            } catch (RuntimeException e) {
+                LOGGER.warn("Batch write of {} repositories failed, retrying one by one", batch.size(), e);
+                for (Github github : batch) {
+                    try {
+                        githubBatchWriter.upsertAll(List.of(github));
+                    } catch (RuntimeException rowFailure) {
+                        LOGGER.error("Dropping write of repository {}", github.getId(), rowFailure);
+                    }
+                }
+            }
+            for (Github github : batch) {
+                pending.remove(github.getId(), github);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.explorer.upstream;
+
+import com.github.explorer.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the number of GitHub calls in progress at once.
+ * <p>
+ * When GitHub slows down, calls pile up here and are rejected after a short wait instead of
+ * holding every request thread until the read timeout.
+ */
+@Component
+public class Bulkhead implements MeterBinder {
+
+    private final UpstreamProperties.Bulkhead properties;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(UpstreamProperties properties) {
+        this.properties = properties.getBulkhead();
+        this.permits = new Semaphore(this.properties.getMaxConcurrentCalls());
+    }
+
+    /**
+     * Takes a slot for one GitHub call, waiting at most {@code max-wait}. Must be paired with {@link #release()}.
+     *
+     * @throws UpstreamUnavailableException if no slot became free in time
+     */
+    public void acquire() {
+        acquire(properties.getMaxWait());
+    }
+
+    /**
+     * Takes a slot for one GitHub call, waiting at most the given time; a zero wait never blocks.
+     *
+     * @param maxWait how long to wait for a free slot
+     * @throws UpstreamUnavailableException if no slot became free in time
+     */
+    public void acquire(Duration maxWait) {
+        try {
+            if (permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new UpstreamUnavailableException("Too many GitHub API calls in progress, retry later", Instant.now());
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Returns the number of GitHub calls currently holding a slot.
+     *
+     * @return the in-use slot count
+     */
+    public int inUse() {
+        return properties.getMaxConcurrentCalls() - permits.availablePermits();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("explorer.upstream.bulkhead.in_use", this, Bulkhead::inUse)
+                .description("GitHub calls currently in progress")
+                .register(registry);
+        FunctionCounter.builder("explorer.upstream.rejected", this, Bulkhead::rejectedCount)
+                .description("GitHub calls rejected without being made")
+                .tag("reason", "bulkhead_full")
+                .register(registry);
+    }
+}
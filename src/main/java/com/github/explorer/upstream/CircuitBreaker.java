@@ -0,0 +1,233 @@
+package com.github.explorer.upstream;
+
+import com.github.explorer.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling the GitHub API for a while once too many recent calls failed or were slow.
+ * <p>
+ * Outcomes of the last {@code window-size} calls are kept in a ring. When the failure or slow-call rate
+ * reaches its threshold the circuit opens and every call is rejected immediately for {@code open-duration}.
+ * It then lets {@code half-open-calls} trial calls through, and closes again only if those stay below
+ * the thresholds.
+ */
+@Component
+public class CircuitBreaker implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public enum Outcome {
+        /**
+         * GitHub answered, including with a 304 or 404.
+         */
+        SUCCESS,
+        /**
+         * GitHub answered with a server error or could not be reached.
+         */
+        FAILURE,
+        /**
+         * The call was not made or says nothing about upstream health, such as a rate-limit refusal.
+         */
+        IGNORED
+    }
+
+    private final UpstreamProperties.CircuitBreaker properties;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder rejected = new LongAdder();
+
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int recorded;
+    private int next;
+    private int failures;
+    private int slowCalls;
+
+    private volatile State state = State.CLOSED;
+    private long openedAtNanos;
+    private int trialsStarted;
+    private int trialsRecorded;
+    private int trialFailures;
+    private int trialSlowCalls;
+
+    @Autowired
+    public CircuitBreaker(UpstreamProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    CircuitBreaker(UpstreamProperties properties, LongSupplier nanoClock) {
+        this.properties = properties.getCircuitBreaker();
+        this.nanoClock = nanoClock;
+        this.failed = new boolean[this.properties.getWindowSize()];
+        this.slow = new boolean[this.properties.getWindowSize()];
+    }
+
+    /**
+     * Lets a call through or rejects it because the circuit is open.
+     * <p>
+     * Every permitted call must be followed by exactly one {@link #record(Outcome, long)}.
+     *
+     * @throws UpstreamUnavailableException if the circuit is open or all trial calls are already in progress
+     */
+    public void acquirePermission() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                long openNanos = properties.getOpenDuration().toNanos();
+                long elapsedNanos = nanoClock.getAsLong() - openedAtNanos;
+                if (elapsedNanos < openNanos) {
+                    rejected.increment();
+                    throw new UpstreamUnavailableException("GitHub API is unavailable, retry later",
+                            Instant.now().plusNanos(openNanos - elapsedNanos));
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialsStarted >= properties.getHalfOpenCalls()) {
+                    rejected.increment();
+                    throw new UpstreamUnavailableException("GitHub API is recovering, retry later", Instant.now());
+                }
+                trialsStarted++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the outcome of a call that was permitted by {@link #acquirePermission()}.
+     *
+     * @param outcome       what the call said about upstream health
+     * @param durationNanos how long the call took
+     */
+    public void record(Outcome outcome, long durationNanos) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        boolean isFailure = outcome == Outcome.FAILURE;
+        boolean isSlow = outcome != Outcome.IGNORED && durationNanos >= properties.getSlowCallThreshold().toNanos();
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED -> {
+                    if (outcome == Outcome.IGNORED) {
+                        return;
+                    }
+                    recordInWindow(isFailure, isSlow);
+                    if (recorded >= properties.getMinimumCalls() && exceedsThresholds(failures, slowCalls, recorded)) {
+                        LOGGER.warn("Opening GitHub circuit: {} of {} recent calls failed, {} were slow",
+                                failures, recorded, slowCalls);
+                        transitionTo(State.OPEN);
+                    }
+                }
+                case HALF_OPEN -> {
+                    if (outcome == Outcome.IGNORED) {
+                        trialsStarted--;
+                        return;
+                    }
+                    trialsRecorded++;
+                    trialFailures += isFailure ? 1 : 0;
+                    trialSlowCalls += isSlow ? 1 : 0;
+                    if (trialsRecorded >= properties.getHalfOpenCalls()) {
+                        if (exceedsThresholds(trialFailures, trialSlowCalls, trialsRecorded)) {
+                            LOGGER.warn("Reopening GitHub circuit: {} of {} trial calls failed, {} were slow",
+                                    trialFailures, trialsRecorded, trialSlowCalls);
+                            transitionTo(State.OPEN);
+                        } else {
+                            LOGGER.info("Closing GitHub circuit after {} successful trial calls", trialsRecorded);
+                            transitionTo(State.CLOSED);
+                        }
+                    }
+                }
+                case OPEN -> {
+                    // Calls that started before the circuit opened say nothing new
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State state() {
+        return state;
+    }
+
+    /**
+     * Returns the number of calls rejected because the circuit was open.
+     *
+     * @return the rejected call count
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("explorer.upstream.circuit.state", this, breaker -> breaker.state().ordinal())
+                .description("GitHub circuit state: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+        FunctionCounter.builder("explorer.upstream.rejected", this, CircuitBreaker::rejectedCount)
+                .description("GitHub calls rejected without being made")
+                .tag("reason", "circuit_open")
+                .register(registry);
+    }
+
+    private void recordInWindow(boolean isFailure, boolean isSlow) {
+        if (recorded == failed.length) {
+            failures -= failed[next] ? 1 : 0;
+            slowCalls -= slow[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failed[next] = isFailure;
+        slow[next] = isSlow;
+        failures += isFailure ? 1 : 0;
+        slowCalls += isSlow ? 1 : 0;
+        next = (next + 1) % failed.length;
+    }
+
+    private boolean exceedsThresholds(int failureCount, int slowCount, int total) {
+        return failureCount * 100 >= properties.getFailureRateThreshold() * total
+                || slowCount * 100 >= properties.getSlowCallRateThreshold() * total;
+    }
+
+    private void transitionTo(State target) {
+        state = target;
+        trialsStarted = 0;
+        trialsRecorded = 0;
+        trialFailures = 0;
+        trialSlowCalls = 0;
+        if (target == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        } else if (target == State.CLOSED) {
+            Arrays.fill(failed, false);
+            Arrays.fill(slow, false);
+            recorded = 0;
+            next = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+}
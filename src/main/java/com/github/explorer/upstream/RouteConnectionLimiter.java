@@ -0,0 +1,108 @@
+package com.github.explorer.upstream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of concurrent requests per upstream host and port.
+ * <p>
+ * A slot is held until the response is closed, so it covers reading the body as well as the exchange itself.
+ */
+public class RouteConnectionLimiter implements ClientHttpRequestInterceptor {
+
+    private final ConcurrentMap<String, Semaphore> routes = new ConcurrentHashMap<>();
+    private final int maxConnectionsPerRoute;
+    private final Duration acquireTimeout;
+
+    public RouteConnectionLimiter(int maxConnectionsPerRoute, Duration acquireTimeout) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String route = route(request.getURI());
+        Semaphore permits = routes.computeIfAbsent(route, key -> new Semaphore(maxConnectionsPerRoute));
+        acquire(permits, route);
+        try {
+            return new PermitReleasingResponse(execution.execute(request, body), permits);
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire(Semaphore permits, String route) {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ResourceAccessException("No free upstream connection to " + route);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted waiting for an upstream connection to " + route);
+        }
+    }
+
+    private static String route(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+
+    private static final class PermitReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Semaphore permits;
+        private boolean released;
+
+        private PermitReleasingResponse(ClientHttpResponse delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (!released) {
+                    released = true;
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.explorer.upstream;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+
+/**
+ * Builds the pooled, keep-alive HTTP client used for all GitHub API calls.
+ * <p>
+ * {@link HttpClient} keeps connections alive and multiplexes HTTP/2 streams on its own; the
+ * interceptors add the per-route connection limit and optional gzip decompression it lacks.
+ */
+@Configuration(proxyBeanMethods = false)
+public class UpstreamClientConfiguration {
+
+    @Bean
+    public HttpClient githubHttpClient(UpstreamProperties properties) {
+        return HttpClient.newBuilder()
+                .version(properties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate githubRestTemplate(RestTemplateBuilder builder, HttpClient githubHttpClient,
+                                           UpstreamProperties properties) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(githubHttpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+
+        RestTemplateBuilder configured = builder
+                .rootUri(properties.getBaseUrl())
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(new RouteConnectionLimiter(
+                        properties.getMaxConnectionsPerRoute(), properties.getConnectionAcquireTimeout()));
+        if (properties.isCompression()) {
+            configured = configured.additionalInterceptors(new GzipDecompressionInterceptor());
+        }
+        return configured.build();
+    }
+}
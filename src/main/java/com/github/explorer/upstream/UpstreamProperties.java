@@ -0,0 +1,180 @@
+package com.github.explorer.upstream;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the HTTP client used to call the GitHub API, bound from {@code explorer.upstream.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "explorer.upstream")
+public class UpstreamProperties {
+
+    /**
+     * Base URL of the GitHub REST API; point it at a stub for local load tests.
+     */
+    private String baseUrl = "https://api.github.com";
+
+    /**
+     * Maximum time to establish a connection to the upstream host.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Maximum time to wait for an upstream response.
+     */
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Maximum number of concurrent requests per upstream host and port.
+     */
+    private int maxConnectionsPerRoute = 64;
+
+    /**
+     * How long a request waits for a free connection slot before failing.
+     */
+    private Duration connectionAcquireTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Whether to negotiate HTTP/2 with the upstream host.
+     */
+    private boolean http2 = true;
+
+    /**
+     * Whether to ask for gzip-compressed responses and decompress them locally.
+     */
+    private boolean compression = true;
+
+    /**
+     * Outbound pacing of GitHub API calls.
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * Stops calling GitHub for a while once too many calls fail or are slow.
+     */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * Cap on GitHub calls in progress at once, so a slow upstream cannot tie up every request thread.
+     */
+    private Bulkhead bulkhead = new Bulkhead();
+
+    /**
+     * Resolution of cache misses in batches through the GitHub GraphQL API.
+     */
+    private Graphql graphql = new Graphql();
+
+    @Data
+    public static class RateLimit {
+
+        /**
+         * Sustained number of upstream requests per second.
+         */
+        private double requestsPerSecond = 10;
+
+        /**
+         * Number of requests that may be issued back to back before pacing kicks in.
+         */
+        private int burst = 20;
+
+        /**
+         * Longest a user-facing request waits for a token before failing fast.
+         */
+        private Duration maxWait = Duration.ofMillis(500);
+
+        /**
+         * Remaining GitHub budget below which background work is no longer scheduled.
+         */
+        private int backgroundReserve = 100;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * Whether upstream failures open the circuit.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of most recent calls the failure and slow-call rates are computed over.
+         */
+        private int windowSize = 50;
+
+        /**
+         * Calls that must be recorded before the rates are evaluated.
+         */
+        private int minimumCalls = 20;
+
+        /**
+         * Percentage of failed calls (server errors and I/O errors) at which the circuit opens.
+         */
+        private int failureRateThreshold = 50;
+
+        /**
+         * Duration from which a call counts as slow, whatever its outcome.
+         */
+        private Duration slowCallThreshold = Duration.ofSeconds(2);
+
+        /**
+         * Percentage of slow calls at which the circuit opens.
+         */
+        private int slowCallRateThreshold = 80;
+
+        /**
+         * How long the circuit stays open before trial calls are let through.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Number of trial calls that decide whether a half-open circuit closes again.
+         */
+        private int halfOpenCalls = 5;
+    }
+
+    @Data
+    public static class Bulkhead {
+
+        /**
+         * Maximum number of GitHub calls in progress at once.
+         */
+        private int maxConcurrentCalls = 32;
+
+        /**
+         * Longest a request waits for a free slot before failing fast.
+         */
+        private Duration maxWait = Duration.ofMillis(50);
+    }
+
+    @Data
+    public static class Graphql {
+
+        /**
+         * Whether concurrent misses are collected and resolved with one GraphQL query instead of one REST call each.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Token sent as a bearer token; the GitHub GraphQL API does not accept anonymous requests.
+         */
+        private String token;
+
+        /**
+         * Path of the GraphQL endpoint, relative to the base URL.
+         */
+        private String path = "/graphql";
+
+        /**
+         * How long the first miss of a batch waits for others to join it.
+         */
+        private Duration window = Duration.ofMillis(5);
+
+        /**
+         * Most repositories resolved by one query; a full batch is sent without waiting for the window to end.
+         */
+        private int maxBatchSize = 50;
+    }
+}
@@ -0,0 +1,263 @@
+package com.github.explorer.upstream;
+
+import com.github.explorer.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Paces outbound GitHub API calls with a token bucket and tracks the rate-limit budget GitHub reports.
+ * <p>
+ * User-facing requests reserve tokens ahead of time and wait at most {@code max-wait} for them, while
+ * background work only runs when a token is free right now and the GitHub budget is above the reserve.
+ * Once GitHub reports the budget as exhausted, or refuses a request under a secondary rate limit, every
+ * request fails fast until the reset or retry time.
+ */
+@Component
+public class UpstreamScheduler implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpstreamScheduler.class);
+
+    static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET = "X-RateLimit-Reset";
+
+    public enum Priority {
+        /**
+         * A caller is waiting for the result.
+         */
+        INTERACTIVE,
+        /**
+         * Refresh work that can be skipped and retried later.
+         */
+        BACKGROUND
+    }
+
+    private final UpstreamProperties.RateLimit properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double tokens;
+    private long lastRefillNanos;
+
+    private volatile long remaining = -1;
+    private volatile Instant resetAt = Instant.EPOCH;
+    private volatile Instant pausedUntil = Instant.EPOCH;
+
+    public UpstreamScheduler(UpstreamProperties properties) {
+        this.properties = properties.getRateLimit();
+        this.tokens = this.properties.getBurst();
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes a token for one upstream request, waiting if the request is user-facing and a token is due soon.
+     *
+     * @param priority the lane the request belongs to
+     * @throws RateLimitExceededException if the request cannot be issued within the allowed wait
+     */
+    public void acquire(Priority priority) {
+        Duration wait = reserve(priority);
+        if (!wait.isZero()) {
+            sleep(wait.toNanos());
+        }
+    }
+
+    /**
+     * Reserves a token for one upstream request without blocking, for callers that wait asynchronously.
+     *
+     * @param priority the lane the request belongs to
+     * @return how long the caller must wait before issuing the request, zero if it may go now
+     * @throws RateLimitExceededException if the request cannot be issued within the allowed wait
+     */
+    public Duration reserve(Priority priority) {
+        long waitNanos;
+        lock.lock();
+        try {
+            Instant now = Instant.now();
+            if (remaining == 0 && now.isBefore(resetAt)) {
+                throw new RateLimitExceededException(resetAt);
+            }
+            if (now.isBefore(pausedUntil)) {
+                throw new RateLimitExceededException(pausedUntil);
+            }
+            refill();
+            if (priority == Priority.BACKGROUND) {
+                boolean belowReserve = remaining >= 0 && remaining <= properties.getBackgroundReserve();
+                if (tokens < 1 || belowReserve) {
+                    throw new RateLimitExceededException(nextTokenAt(now));
+                }
+                tokens -= 1;
+                return Duration.ZERO;
+            }
+            waitNanos = tokens >= 1 ? 0 : (long) ((1 - tokens) / properties.getRequestsPerSecond() * 1e9);
+            if (waitNanos > properties.getMaxWait().toNanos()) {
+                throw new RateLimitExceededException(nextTokenAt(now));
+            }
+            // Reserve the token now so later callers queue behind this one
+            tokens -= 1;
+        } finally {
+            lock.unlock();
+        }
+        return Duration.ofNanos(waitNanos);
+    }
+
+    /**
+     * Gives back a token taken by {@link #acquire} or {@link #reserve} for a request that was never issued.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            refill();
+            tokens = Math.min(properties.getBurst(), tokens + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Updates the known GitHub budget from the rate-limit headers of an upstream response.
+     *
+     * @param headers the response headers, possibly null
+     */
+    public void recordResponse(HttpHeaders headers) {
+        if (headers == null) {
+            return;
+        }
+        String remainingHeader = headers.getFirst(RATE_LIMIT_REMAINING);
+        String resetHeader = headers.getFirst(RATE_LIMIT_RESET);
+        try {
+            if (resetHeader != null) {
+                resetAt = Instant.ofEpochSecond(Long.parseLong(resetHeader.trim()));
+            }
+            if (remainingHeader != null) {
+                remaining = Long.parseLong(remainingHeader.trim());
+            }
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Ignoring malformed rate-limit headers {}={}, {}={}",
+                    RATE_LIMIT_REMAINING, remainingHeader, RATE_LIMIT_RESET, resetHeader);
+        }
+    }
+
+    /**
+     * Returns whether an upstream error response is a rate-limit refusal.
+     * <p>
+     * GitHub answers an exhausted budget with {@code 403} or {@code 429} and no remaining requests, and its
+     * secondary rate limits with {@code 429}, or with {@code 403} and a {@code Retry-After} header.
+     *
+     * @param status  the error response status
+     * @param headers the error response headers, possibly null
+     * @return true if the request was refused because of a rate limit
+     */
+    public boolean isRateLimited(HttpStatusCode status, HttpHeaders headers) {
+        if (status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+            return true;
+        }
+        return status.isSameCodeAs(HttpStatus.FORBIDDEN) && headers != null
+                && ("0".equals(headers.getFirst(RATE_LIMIT_REMAINING)) || headers.containsKey(HttpHeaders.RETRY_AFTER));
+    }
+
+    /**
+     * Returns when a rate-limited request may be retried: the {@code Retry-After} time if present, else the
+     * budget reset time, else one minute from now, as GitHub advises for secondary limits without headers.
+     *
+     * @param headers the error response headers, possibly null
+     * @return the earliest time to retry
+     */
+    public Instant retryAt(HttpHeaders headers) {
+        Instant now = Instant.now();
+        String retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        String reset = headers != null ? headers.getFirst(RATE_LIMIT_RESET) : null;
+        try {
+            if (retryAfter != null) {
+                String value = retryAfter.trim();
+                return value.chars().allMatch(Character::isDigit)
+                        ? now.plusSeconds(Long.parseLong(value))
+                        : ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            }
+            if (reset != null) {
+                return Instant.ofEpochSecond(Long.parseLong(reset.trim()));
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            LOGGER.warn("Ignoring malformed rate-limit headers {}={}, {}={}",
+                    HttpHeaders.RETRY_AFTER, retryAfter, RATE_LIMIT_RESET, reset);
+        }
+        return now.plus(Duration.ofMinutes(1));
+    }
+
+    /**
+     * Records a rate-limit refusal of a REST request. Every request fails fast until the retry time, since GitHub
+     * may block clients that keep calling while rate limited.
+     *
+     * @param headers the error response headers, possibly null
+     * @return the earliest time to retry
+     */
+    public Instant recordRateLimited(HttpHeaders headers) {
+        Instant retryAt = retryAt(headers);
+        lock.lock();
+        try {
+            if (retryAt.isAfter(pausedUntil)) {
+                pausedUntil = retryAt;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return retryAt;
+    }
+
+    /**
+     * Returns the remaining GitHub budget as last reported, or -1 if unknown.
+     *
+     * @return the remaining request count
+     */
+    public long remaining() {
+        return remaining;
+    }
+
+    public Instant resetAt() {
+        return resetAt;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("explorer.upstream.rate_limit.remaining", this, UpstreamScheduler::remaining)
+                .description("Remaining GitHub API requests as last reported, or -1 if unknown")
+                .register(registry);
+        Gauge.builder("explorer.upstream.rate_limit.reset", this, scheduler -> scheduler.resetAt().getEpochSecond())
+                .description("When the GitHub API budget resets, in epoch seconds")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / 1e9;
+        tokens = Math.min(properties.getBurst(), tokens + elapsedSeconds * properties.getRequestsPerSecond());
+        lastRefillNanos = now;
+    }
+
+    private Instant nextTokenAt(Instant now) {
+        double deficit = Math.max(0, 1 - tokens);
+        return now.plusNanos((long) (deficit / properties.getRequestsPerSecond() * 1e9));
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitExceededException(Instant.now());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.explorer.upstream;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Builds the non-blocking HTTP client used for GitHub API calls in reactive mode.
+ * <p>
+ * Mirrors {@link UpstreamClientConfiguration}: the connection pool size and acquire timeout play the part of
+ * {@link RouteConnectionLimiter}, and Reactor Netty decompresses gzip responses itself.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class UpstreamWebClientConfiguration {
+
+    /**
+     * Boot only auto-configures this builder for servlet applications, but background refreshes still go
+     * through the blocking {@code RestTemplate} in reactive mode.
+     */
+    @Bean
+    public RestTemplateBuilder restTemplateBuilder() {
+        return new RestTemplateBuilder();
+    }
+
+    @Bean
+    public WebClient githubWebClient(WebClient.Builder builder, UpstreamProperties properties) {
+        ConnectionProvider connections = ConnectionProvider.builder("github")
+                .maxConnections(properties.getMaxConnectionsPerRoute())
+                .pendingAcquireTimeout(properties.getConnectionAcquireTimeout())
+                .build();
+        HttpClient httpClient = HttpClient.create(connections)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .compress(properties.isCompression())
+                .followRedirect(true);
+        if (properties.isHttp2() && properties.getBaseUrl().startsWith("https:")) {
+            // HTTP/2 is negotiated through ALPN, so it is only offered over TLS
+            httpClient = httpClient.secure().protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return builder
+                .baseUrl(properties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+-- Schema of the Github entity, used instead of Hibernate schema generation by the fast-startup profile.
+-- Every statement is idempotent, so an existing schema is left as it is.
+create table if not exists github (
+    stars integer not null,
+    created_at timestamp(6),
+    fetched_at timestamp(6) with time zone,
+    clone_url varchar(255),
+    description varchar(255),
+    etag varchar(255),
+    full_name varchar(255),
+    id varchar(255) not null,
+    last_modified varchar(255),
+    primary key (id)
+);
+create index if not exists idx_github_fetched_at on github (fetched_at);
+create index if not exists idx_github_stars on github (stars, id);
+create index if not exists idx_github_created_at on github (created_at, id);
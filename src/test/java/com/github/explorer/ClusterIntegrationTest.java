@@ -0,0 +1,127 @@
+package com.github.explorer;
+
+import com.github.explorer.cluster.PeerRouter;
+import com.github.explorer.stub.GithubApiStub;
+import com.github.explorer.stub.LatencyDistribution;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two instances on localhost that shard repositories between them, against one GitHub stub.
+ */
+class ClusterIntegrationTest {
+
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+
+    private static GithubApiStub githubApi;
+    private static String firstUrl;
+    private static String secondUrl;
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startInstances() throws IOException {
+        githubApi = GithubApiStub.builder()
+                .latency(LatencyDistribution.fixed(Duration.ofMillis(5)))
+                .missing("cluster-owner/missing")
+                .start();
+        firstUrl = "http://localhost:" + freePort();
+        secondUrl = "http://localhost:" + freePort();
+        first = startInstance("first", firstUrl, secondUrl);
+        second = startInstance("second", secondUrl, firstUrl);
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        second.close();
+        first.close();
+        githubApi.close();
+    }
+
+    @Test
+    void testEachRepositoryIsFetchedFromGithubOnceAcrossInstances() throws Exception {
+        List<String> repositoryIds = IntStream.range(0, 20).mapToObj(i -> "cluster-owner/repository-" + i).toList();
+        PeerRouter router = first.getBean(PeerRouter.class);
+        assertThat(repositoryIds).anyMatch(id -> router.ownerOf(id).equals(firstUrl));
+        assertThat(repositoryIds).anyMatch(id -> router.ownerOf(id).equals(secondUrl));
+        long before = githubApi.requestCount();
+
+        for (String repositoryId : repositoryIds) {
+            assertThat(get(firstUrl, repositoryId).statusCode()).isEqualTo(200);
+            assertThat(get(secondUrl, repositoryId).statusCode()).isEqualTo(200);
+        }
+
+        assertThat(githubApi.requestCount() - before).isEqualTo(repositoryIds.size());
+        HttpResponse<String> response = get(secondUrl, "cluster-owner/repository-3");
+        assertThat(response.body()).contains("\"full_name\":\"cluster-owner/repository-3\"");
+    }
+
+    @Test
+    void testMissingRepositoryIsAskedForOnce() throws Exception {
+        long before = githubApi.requestCount();
+
+        assertThat(get(firstUrl, "cluster-owner/missing").statusCode()).isEqualTo(404);
+        assertThat(get(secondUrl, "cluster-owner/missing").statusCode()).isEqualTo(404);
+
+        assertThat(githubApi.requestCount() - before).isEqualTo(1);
+    }
+
+    @Test
+    void testRepositoriesOfUnreachablePeerAreLoadedLocally() throws Exception {
+        String unreachableUrl = "http://localhost:" + freePort();
+        try (ConfigurableApplicationContext alone = startInstance("alone", "http://localhost:" + freePort(),
+                unreachableUrl)) {
+            String selfUrl = "http://localhost:" + alone.getEnvironment().getProperty("local.server.port");
+            PeerRouter router = alone.getBean(PeerRouter.class);
+            List<String> peerOwned = IntStream.range(0, 50).mapToObj(i -> "fallback-owner/repository-" + i)
+                    .filter(id -> router.ownerOf(id).equals(unreachableUrl))
+                    .limit(3)
+                    .toList();
+            assertThat(peerOwned).hasSize(3);
+            long before = githubApi.requestCount();
+
+            for (String repositoryId : peerOwned) {
+                assertThat(get(selfUrl, repositoryId).statusCode()).isEqualTo(200);
+            }
+
+            assertThat(githubApi.requestCount() - before).isEqualTo(peerOwned.size());
+        }
+    }
+
+    private static ConfigurableApplicationContext startInstance(String name, String selfUrl, String peerUrl) {
+        return new SpringApplicationBuilder(ExplorerApplication.class).run(
+                "--server.port=" + URI.create(selfUrl).getPort(),
+                "--spring.datasource.url=jdbc:h2:mem:cluster-" + name,
+                "--explorer.upstream.base-url=" + githubApi.baseUrl(),
+                "--explorer.cluster.enabled=true",
+                "--explorer.cluster.self=" + selfUrl,
+                "--explorer.cluster.peers=" + selfUrl + "," + peerUrl,
+                "--explorer.cluster.connect-timeout=200ms");
+    }
+
+    private static HttpResponse<String> get(String baseUrl, String repositoryId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/repositories/" + repositoryId)).build();
+        return HTTP.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.explorer;
+
+import com.github.explorer.module.Github;
+import com.github.explorer.repo.GithubRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        // Hibernate checks db/schema.sql against the entity mapping instead of trusting it
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true",
+        "spring.datasource.url=jdbc:h2:mem:fast-startup"
+})
+@ActiveProfiles("fast-startup")
+class FastStartupProfileTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private GithubRepository githubRepository;
+
+    @Test
+    void testSchemaScriptMatchesEntity() {
+        Github github = new Github();
+        github.setId("octocat/Hello-World");
+        github.setFullName("octocat/Hello-World");
+        github.setStars(42);
+        github.setCreatedAt(LocalDateTime.of(2011, 1, 26, 19, 1, 12));
+        github.setFetchedAt(Instant.parse("2024-01-02T03:04:05Z"));
+        githubRepository.save(github);
+
+        assertThat(githubRepository.findById("octocat/Hello-World")).contains(github);
+    }
+
+    @Test
+    void testOnlyScheduledBeansAreCreatedEagerly() {
+        var beanFactory = context.getBeanFactory();
+
+        assertThat(beanFactory.getBeanDefinition("repositoryQueryService").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("repositoryRefreshSweeper").isLazyInit()).isFalse();
+    }
+}
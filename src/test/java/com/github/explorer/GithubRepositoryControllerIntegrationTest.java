@@ -3,14 +3,20 @@ package com.github.explorer;
 import com.github.explorer.exception.RepositoryNotFoundException;
 import com.github.explorer.module.Github;
 import com.github.explorer.service.GithubRepositoryService;
+import com.github.explorer.stub.GithubApiStub;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.IOException;
+
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 
@@ -19,12 +25,27 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 @AutoConfigureMockMvc
 class GithubRepositoryControllerIntegrationTest {
 
+    private static GithubApiStub githubApi;
+
     @Autowired
     private MockMvc mockMvc;
 
     @Autowired
     private GithubRepositoryService githubRepositoryService;
 
+    @DynamicPropertySource
+    static void githubApi(DynamicPropertyRegistry registry) throws IOException {
+        githubApi = GithubApiStub.builder()
+                .missing("nonexistent-owner/nonexistent-repo")
+                .start();
+        registry.add("explorer.upstream.base-url", githubApi::baseUrl);
+    }
+
+    @AfterAll
+    static void stopGithubApi() {
+        githubApi.close();
+    }
+
     @Test
     void testGetRepositoryDetails_RepositoryFound() throws Exception {
         String owner = "octocat";
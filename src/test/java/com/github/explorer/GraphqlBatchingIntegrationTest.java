@@ -0,0 +1,78 @@
+package com.github.explorer;
+
+import com.github.explorer.module.Github;
+import com.github.explorer.module.RepositoryLookupResult;
+import com.github.explorer.service.GithubRepositoryService;
+import com.github.explorer.stub.GithubApiStub;
+import com.github.explorer.stub.LatencyDistribution;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "explorer.upstream.graphql.enabled=true",
+        "explorer.upstream.graphql.token=test-token",
+        "explorer.upstream.graphql.window=50ms",
+        "explorer.upstream.graphql.max-batch-size=25",
+        "explorer.batch.max-concurrency=100"
+})
+class GraphqlBatchingIntegrationTest {
+
+    private static GithubApiStub githubApi;
+
+    @Autowired
+    private GithubRepositoryService githubRepositoryService;
+
+    @DynamicPropertySource
+    static void githubApi(DynamicPropertyRegistry registry) throws IOException {
+        githubApi = GithubApiStub.builder()
+                .latency(LatencyDistribution.fixed(Duration.ofMillis(20)))
+                .missing("graphql-owner/missing")
+                .start();
+        registry.add("explorer.upstream.base-url", githubApi::baseUrl);
+    }
+
+    @AfterAll
+    static void stopGithubApi() {
+        githubApi.close();
+    }
+
+    @Test
+    void testConcurrentMissesShareGraphqlQueries() {
+        List<String> repositoryIds = IntStream.range(0, 100).mapToObj(i -> "graphql-owner/repository-" + i).toList();
+        long restBefore = githubApi.requestCount();
+        long graphqlBefore = githubApi.graphqlRequestCount();
+
+        List<RepositoryLookupResult> results = githubRepositoryService.getRepositoryDetails(repositoryIds);
+
+        assertThat(results).hasSize(100).allMatch(result -> result.status() == 200);
+        assertThat(githubApi.requestCount() - restBefore).isZero();
+        // 100 misses in batches of at most 25
+        assertThat(githubApi.graphqlRequestCount() - graphqlBefore).isBetween(4L, 10L);
+
+        Github github = githubRepositoryService.getRepositoryDetails("graphql-owner", "repository-7");
+        assertThat(github.getId()).isEqualTo("graphql-owner/repository-7");
+        assertThat(github.getFullName()).isEqualTo("graphql-owner/repository-7");
+        assertThat(github.getCloneUrl()).isEqualTo("https://github.com/graphql-owner/repository-7.git");
+        assertThat(github.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void testMissingRepositoryInBatchIsNotFound() {
+        List<RepositoryLookupResult> results = githubRepositoryService.getRepositoryDetails(
+                List.of("graphql-owner/present", "graphql-owner/missing"));
+
+        assertThat(results.get(0).status()).isEqualTo(200);
+        assertThat(results.get(1).status()).isEqualTo(404);
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.explorer;
+
+import com.github.explorer.stub.GithubApiStub;
+import com.github.explorer.stub.LatencyDistribution;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "explorer.upstream.rate-limit.requests-per-second=100000",
+        "explorer.upstream.rate-limit.burst=10000",
+        "explorer.upstream.max-connections-per-route=512",
+        "explorer.upstream.bulkhead.max-concurrent-calls=512"
+})
+@AutoConfigureWebTestClient
+class ReactiveRepositoryLookupIntegrationTest {
+
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(250);
+
+    private static GithubApiStub githubApi;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void githubApi(DynamicPropertyRegistry registry) throws IOException {
+        githubApi = GithubApiStub.builder()
+                .latency(LatencyDistribution.fixed(UPSTREAM_LATENCY))
+                .missing("reactive-owner/missing")
+                .start();
+        registry.add("explorer.upstream.base-url", githubApi::baseUrl);
+    }
+
+    @AfterAll
+    static void stopGithubApi() {
+        githubApi.close();
+    }
+
+    @Test
+    void testGetRepositoryDetails_FoundThenNotModified() {
+        String etag = webTestClient.get().uri("/repositories/{owner}/{repositoryName}", "reactive-owner", "found")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody(String.class).value(body -> assertThat(body).contains("reactive-owner/found"))
+                .returnResult().getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/repositories/{owner}/{repositoryName}", "reactive-owner", "found")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void testGetRepositoryDetails_NotFoundMappedLikeServletMode() {
+        webTestClient.get().uri("/repositories/{owner}/{repositoryName}", "reactive-owner", "missing")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.status").isEqualTo(404);
+    }
+
+    @Test
+    void testGetRepositoryDetails_ConcurrentSlowLookupsDoNotQueue() {
+        int requests = 200;
+        WebClient client = loadClient();
+        // The first round pays for connection setup and JIT compilation
+        lookupAll(client, "warmup-owner", requests);
+        long start = System.nanoTime();
+
+        List<HttpStatusCode> statuses = lookupAll(client, "concurrent-owner", requests);
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        assertThat(statuses).hasSize(requests).allMatch(HttpStatusCode::is2xxSuccessful);
+        // Served one after another, the lookups would take requests * UPSTREAM_LATENCY = 50 s
+        assertThat(elapsed).isLessThan(UPSTREAM_LATENCY.multipliedBy(20));
+    }
+
+    @Test
+    void testGetRepositoryDetails_ConcurrentLookupsOfOneRepositoryShareOneCall() {
+        WebClient client = loadClient();
+        long upstreamBefore = githubApi.requestCount();
+
+        List<HttpStatusCode> statuses = Flux.range(0, 50)
+                .flatMap(i -> client.get().uri("/repositories/coalesced-owner/repository")
+                        .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode())), 50)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertThat(statuses).hasSize(50).allMatch(HttpStatusCode::is2xxSuccessful);
+        assertThat(githubApi.requestCount() - upstreamBefore).isEqualTo(1);
+    }
+
+    @Test
+    void testStartupFailsWithClusteringEnabled() {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(ExplorerApplication.class);
+
+        assertThatThrownBy(() -> application.run(
+                "--spring.main.web-application-type=reactive",
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:reactive-cluster",
+                "--explorer.cluster.enabled=true",
+                "--explorer.cluster.self=http://localhost:8080"))
+                .hasRootCauseInstanceOf(IllegalStateException.class)
+                .hasStackTraceContaining("explorer.cluster.enabled is not supported in reactive mode");
+    }
+
+    private static List<HttpStatusCode> lookupAll(WebClient client, String owner, int requests) {
+        return Flux.range(0, requests)
+                .flatMap(i -> client.get().uri("/repositories/{owner}/repository-{i}", owner, i)
+                        .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode())), requests)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+    }
+
+    private WebClient loadClient() {
+        ConnectionProvider connections = ConnectionProvider.builder("reactive-test").maxConnections(500).build();
+        return WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.explorer;
+
+import com.github.explorer.module.Github;
+import com.github.explorer.repo.GithubRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RepositoryExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GithubRepository githubRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (String id : List.of("octocat/b", "octocat/a", "prpundge/c")) {
+            Github github = new Github();
+            github.setId(id);
+            github.setFullName(id);
+            githubRepository.save(github);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        githubRepository.deleteAll();
+    }
+
+    @Test
+    void testExportStreamsAllRepositoriesInIdOrder() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/repositories/export"))
+                .andReturn()
+                .getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+        String[] lines = response.getContentAsString().split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"id\":\"octocat/a\"");
+        assertThat(lines[2]).contains("\"id\":\"prpundge/c\"");
+    }
+
+    @Test
+    void testExportResumesAfterCursor() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/repositories/export").param("after", "octocat/b"))
+                .andReturn()
+                .getResponse();
+
+        String[] lines = response.getContentAsString().split("\n");
+        assertThat(lines).hasSize(1);
+        assertThat(lines[0]).contains("\"id\":\"prpundge/c\"");
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.explorer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.explorer.module.Github;
+import com.github.explorer.repo.GithubRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RepositoryQueryIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GithubRepository githubRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Github> repositories = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 25; i++) {
+            Github github = new Github();
+            github.setId((i % 2 == 0 ? "octocat" : "prpundge") + "/repository-" + String.format("%02d", i));
+            github.setFullName(github.getId());
+            // Only five distinct star counts, so pages have to break ties on the id
+            github.setStars((i % 5) * 100);
+            github.setCreatedAt(LocalDateTime.of(2020, 1, 1, 0, 0).plusDays(i % 7));
+            repositories.add(githubRepository.save(github));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        githubRepository.deleteAll();
+    }
+
+    @Test
+    void testSearchPagesThroughAllRepositoriesByStars() throws Exception {
+        List<String> expected = repositories.stream()
+                .sorted(Comparator.comparingInt(Github::getStars).thenComparing(Github::getId).reversed())
+                .map(Github::getId)
+                .toList();
+
+        List<String> seen = pageThrough("stars", "desc", 10);
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void testSearchPagesThroughAllRepositoriesByCreationTimeAscending() throws Exception {
+        List<String> expected = repositories.stream()
+                .sorted(Comparator.comparing(Github::getCreatedAt).thenComparing(Github::getId))
+                .map(Github::getId)
+                .toList();
+
+        List<String> seen = pageThrough("createdAt", "asc", 7);
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void testSearchAppliesFilters() throws Exception {
+        JsonNode page = search(get("/repositories")
+                .param("minStars", "100")
+                .param("maxStars", "300")
+                .param("owner", "octo")
+                .param("createdFrom", "2020-01-02")
+                .param("createdBefore", "2020-01-05"));
+
+        List<String> expected = repositories.stream()
+                .filter(github -> github.getStars() >= 100 && github.getStars() <= 300)
+                .filter(github -> github.getId().startsWith("octo"))
+                .filter(github -> !github.getCreatedAt().isBefore(LocalDateTime.of(2020, 1, 2, 0, 0)))
+                .filter(github -> github.getCreatedAt().isBefore(LocalDateTime.of(2020, 1, 5, 0, 0)))
+                .map(Github::getId)
+                .toList();
+        assertThat(ids(page)).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(page.has("nextCursor")).isFalse();
+    }
+
+    @Test
+    void testSearchRejectsCursorOfAnotherSortOrder() throws Exception {
+        String cursor = search(get("/repositories").param("limit", "5")).get("nextCursor").asText();
+
+        MockHttpServletResponse response = mockMvc.perform(get("/repositories")
+                        .param("sort", "createdAt")
+                        .param("cursor", cursor))
+                .andReturn()
+                .getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(mockMvc.perform(get("/repositories").param("cursor", "not-a-cursor")).andReturn().getResponse()
+                .getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(mockMvc.perform(get("/repositories").param("limit", "1000")).andReturn().getResponse()
+                .getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void testKeysetSeekUsesCompositeIndex() {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT id FROM github WHERE stars <= 300 "
+                + "AND (stars < 300 OR id < 'octocat/repository-08') ORDER BY stars DESC, id DESC LIMIT 11", String.class);
+
+        assertThat(plan).containsIgnoringCase("idx_github_stars");
+    }
+
+    private List<String> pageThrough(String sort, String direction, int limit) throws Exception {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/repositories")
+                    .param("sort", sort)
+                    .param("direction", direction)
+                    .param("limit", String.valueOf(limit));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = search(request);
+            assertThat(page.get("items").size()).isLessThanOrEqualTo(limit);
+            seen.addAll(ids(page));
+            cursor = page.has("nextCursor") ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+        return seen;
+    }
+
+    private JsonNode search(MockHttpServletRequestBuilder request) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        return objectMapper.readTree(response.getContentAsString());
+    }
+
+    private static List<String> ids(JsonNode page) {
+        List<String> ids = new ArrayList<>();
+        page.get("items").forEach(item -> ids.add(item.get("id").asText()));
+        return ids;
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.explorer;
+
+import com.github.explorer.module.Github;
+import com.github.explorer.repo.GithubRepository;
+import com.github.explorer.service.RepositorySnapshotService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest
+class RepositorySnapshotIntegrationTest {
+
+    @TempDir
+    static Path snapshotDirectory;
+
+    @DynamicPropertySource
+    static void snapshotProperties(DynamicPropertyRegistry registry) {
+        registry.add("explorer.snapshot.path", () -> snapshotDirectory.resolve("repositories.snapshot").toString());
+    }
+
+    @Autowired
+    private RepositorySnapshotService repositorySnapshotService;
+
+    @Autowired
+    private GithubRepository githubRepository;
+
+    @AfterEach
+    void tearDown() {
+        githubRepository.deleteAll();
+    }
+
+    @Test
+    void testSaveAndRestore() {
+        Github github = new Github();
+        github.setId("octocat/Hello-World");
+        github.setFullName("octocat/Hello-World");
+        github.setStars(42);
+        githubRepository.save(github);
+
+        assertThat(repositorySnapshotService.save()).isEqualTo(1);
+        assertThat(Files.exists(snapshotDirectory.resolve("repositories.snapshot"))).isTrue();
+
+        githubRepository.deleteAll();
+        assertThat(repositorySnapshotService.restore()).isEqualTo(1);
+
+        assertThat(githubRepository.findById("octocat/Hello-World").orElseThrow().getStars()).isEqualTo(42);
+    }
+
+    @Test
+    void testCorruptTailRestoresNothing() throws Exception {
+        // More than one restore batch, so a partial restore would have written the first one
+        List<Github> repositories = IntStream.range(0, 1_500).mapToObj(i -> {
+            Github github = new Github();
+            github.setId("octocat/repository-" + i);
+            return github;
+        }).toList();
+        githubRepository.saveAll(repositories);
+        assertThat(repositorySnapshotService.save()).isEqualTo(1_500);
+        Path snapshot = snapshotDirectory.resolve("repositories.snapshot");
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 4));
+
+        githubRepository.deleteAll();
+        assertThat(repositorySnapshotService.restore()).isEqualTo(0);
+
+        assertThat(githubRepository.count()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.explorer.accesslog;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccessLogFilterTest {
+
+    @Mock
+    private AccessLogWriter accessLogWriter;
+
+    private final AccessLogProperties properties = new AccessLogProperties();
+
+    @Test
+    void testSuccessfulRequestNotRecordedWithoutSampling() throws Exception {
+        properties.setSampleRate(0);
+
+        filter(HttpServletResponse.SC_OK, Duration.ZERO);
+
+        verify(accessLogWriter, never()).offer(any());
+    }
+
+    @Test
+    void testErrorAlwaysRecorded() throws Exception {
+        properties.setSampleRate(0);
+
+        filter(HttpServletResponse.SC_NOT_FOUND, Duration.ZERO);
+
+        AccessLogEvent event = recordedEvent();
+
+        assertThat(event.reason()).isEqualTo(AccessLogEvent.Reason.ERROR);
+        assertThat(event.status()).isEqualTo(404);
+        assertThat(event.method()).isEqualTo("GET");
+        assertThat(event.path()).isEqualTo("/repositories/octocat/Hello-World");
+    }
+
+    @Test
+    void testSlowRequestAlwaysRecorded() throws Exception {
+        properties.setSampleRate(0);
+        properties.setSlowThreshold(Duration.ofMillis(20));
+
+        filter(HttpServletResponse.SC_OK, Duration.ofMillis(30));
+
+        AccessLogEvent event = recordedEvent();
+
+        assertThat(event.reason()).isEqualTo(AccessLogEvent.Reason.SLOW);
+        assertThat(event.durationMicros()).isGreaterThanOrEqualTo(30_000);
+    }
+
+    @Test
+    void testSuccessfulRequestRecordedWhenSampled() throws Exception {
+        properties.setSampleRate(1);
+
+        filter(HttpServletResponse.SC_OK, Duration.ZERO);
+
+        assertThat(recordedEvent().reason()).isEqualTo(AccessLogEvent.Reason.SAMPLED);
+    }
+
+    private void filter(int status, Duration handlingTime) throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(properties, accessLogWriter);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/repositories/octocat/Hello-World");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                try {
+                    Thread.sleep(handlingTime);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                resp.setStatus(status);
+            }
+        }));
+
+    }
+
+    private AccessLogEvent recordedEvent() {
+        ArgumentCaptor<AccessLogEvent> event = ArgumentCaptor.forClass(AccessLogEvent.class);
+        verify(accessLogWriter).offer(event.capture());
+        return event.getValue();
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.explorer.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferTest {
+
+    @Test
+    void testOfferRejectsWhenFullAndPollKeepsOrder() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(4)).isTrue();
+        for (int i = 1; i <= 4; i++) {
+            assertThat(buffer.poll()).isEqualTo(i);
+        }
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothingWhileConsumerKeepsUp() throws Exception {
+        int producers = 8;
+        int perProducer = 20_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Set<Integer> received = new HashSet<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                int offset = p * perProducer;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(offset + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+            while (received.size() < producers * perProducer) {
+                Integer element = buffer.poll();
+                if (element != null) {
+                    assertThat(received.add(element)).isTrue();
+                }
+            }
+        }
+
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(buffer.poll()).isNull();
+    }
+}
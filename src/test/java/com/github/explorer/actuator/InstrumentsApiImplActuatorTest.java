@@ -3,6 +3,7 @@ package com.github.explorer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.web.WebAppConfiguration;
@@ -10,13 +11,16 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@AutoConfigureObservability
 @ContextConfiguration(classes = IntegrationTestConfig.class)
 @WebAppConfiguration
 class InstrumentsApiImplActuatorTest {
@@ -43,4 +47,17 @@ class InstrumentsApiImplActuatorTest {
                         jsonPath("$.status", is("UP"))
                 );
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("PMD.JUnitTestsShouldIncludeAssert")
+    void prometheusEndpointShouldExposeLookupPipelineMetrics() throws Exception {
+        mockMvc.perform(get(ACTUATOR_URL + "prometheus"))
+                .andExpectAll(
+                        status().isOk(),
+                        content().string(containsString("explorer_lookups_total{")),
+                        content().string(containsString("explorer_upstream_rate_limit_remaining{")),
+                        content().string(containsString("explorer_lookups_in_flight{")),
+                        content().string(containsString("cache=\"repositories\""))
+                );
+    }
+}
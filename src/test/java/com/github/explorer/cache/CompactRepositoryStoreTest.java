@@ -0,0 +1,150 @@
+package com.github.explorer.cache;
+
+import com.github.explorer.module.Github;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactRepositoryStoreTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    void testGetReturnsEqualCopyOfStoredRepository() {
+        CompactRepositoryStore store = store(10);
+        Github github = repository("octocat/Hello-World");
+
+        store.put("octocat/Hello-World", github);
+
+        Github stored = store.get("octocat/Hello-World");
+        assertThat(stored).isEqualTo(github).isNotSameAs(github);
+        assertThat(stored.getCloneUrl()).isEqualTo("https://github.com/octocat/Hello-World.git");
+        assertThat(stored.getLastModified()).isEqualTo("Tue, 02 Jan 2024 03:04:05 GMT");
+    }
+
+    @Test
+    void testRestoresDigestEtagsExactly() {
+        CompactRepositoryStore store = store(10);
+        String digest = "0123456789abcdef".repeat(3) + "fedcba9876543210";
+        String[] etags = {"W/\"" + digest + "\"", "\"" + digest + "\"", "\"" + digest.toUpperCase() + "\""};
+        for (String etag : etags) {
+            Github github = repository("octocat/Hello-World");
+            github.setEtag(etag);
+
+            store.put("octocat/Hello-World", github);
+
+            assertThat(store.get("octocat/Hello-World").getEtag()).isEqualTo(etag);
+        }
+    }
+
+    @Test
+    void testKeepsFieldsThatCannotBeDerived() {
+        CompactRepositoryStore store = store(10);
+        Github github = repository("octocat/Hello-World");
+        github.setFullName("octocat/hello-world");
+        github.setCloneUrl("https://mirror.example.com/octocat/Hello-World.git");
+        github.setLastModified("Tuesday, 02-Jan-24 03:04:05 GMT");
+        github.setCreatedAt(null);
+
+        store.put("octocat/Hello-World", github);
+
+        assertThat(store.get("octocat/Hello-World")).isEqualTo(github);
+    }
+
+    @Test
+    void testPutReplacesExistingEntry() {
+        CompactRepositoryStore store = store(10);
+        store.put("octocat/Hello-World", repository("octocat/Hello-World"));
+        Github updated = repository("octocat/Hello-World");
+        updated.setStars(99);
+
+        store.put("octocat/Hello-World", updated);
+
+        assertThat(store.get("octocat/Hello-World").getStars()).isEqualTo(99);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testEvictsEntryNotReadSinceLastSweep() {
+        CompactRepositoryStore store = store(2);
+        store.put("octocat/first", repository("octocat/first"));
+        store.put("octocat/second", repository("octocat/second"));
+        store.put("octocat/third", repository("octocat/third"));
+        store.get("octocat/third");
+
+        store.put("octocat/fourth", repository("octocat/fourth"));
+
+        assertThat(store.get("octocat/third")).isNotNull();
+        assertThat(store.get("octocat/fourth")).isNotNull();
+        assertThat(store.get("octocat/first")).isNull();
+        assertThat(store.get("octocat/second")).isNull();
+        assertThat(store.stats().evictions()).isEqualTo(2);
+    }
+
+    @Test
+    void testExpiresEntriesAfterTimeToLive() {
+        CompactRepositoryStore store = store(10);
+        store.put("octocat/Hello-World", repository("octocat/Hello-World"));
+
+        nanoTime.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        assertThat(store.get("octocat/Hello-World")).isNull();
+        assertThat(store.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void testInternsOwnersUntilTheirLastRepositoryIsRemoved() {
+        CompactRepositoryStore store = store(10);
+        store.put("octocat/first", repository("octocat/first"));
+        store.put("octocat/second", repository("octocat/second"));
+        store.put("torvalds/linux", repository("torvalds/linux"));
+        assertThat(store.ownerCount()).isEqualTo(2);
+
+        store.invalidate("octocat/first");
+        assertThat(store.ownerCount()).isEqualTo(2);
+        store.invalidate("octocat/second");
+        assertThat(store.ownerCount()).isEqualTo(1);
+        assertThat(store.get("torvalds/linux")).isNotNull();
+    }
+
+    @Test
+    void testLookupsSurviveRemovalFromCollidingProbeChains() {
+        CompactRepositoryStore store = store(64);
+        for (int i = 0; i < 64; i++) {
+            store.put("owner" + (i % 7) + "/repository-" + i, repository("owner" + (i % 7) + "/repository-" + i));
+        }
+
+        for (int i = 0; i < 64; i += 2) {
+            store.invalidate("owner" + (i % 7) + "/repository-" + i);
+        }
+
+        for (int i = 0; i < 64; i++) {
+            Github stored = store.get("owner" + (i % 7) + "/repository-" + i);
+            assertThat(stored == null).isEqualTo(i % 2 == 0);
+        }
+        assertThat(store.size()).isEqualTo(32);
+    }
+
+    private CompactRepositoryStore store(int capacity) {
+        return new CompactRepositoryStore(capacity, Duration.ofMinutes(10).toNanos(), nanoTime::get);
+    }
+
+    private static Github repository(String id) {
+        Github github = new Github();
+        github.setId(id);
+        github.setFullName(id);
+        github.setDescription("A repository");
+        github.setCloneUrl("https://github.com/" + id + ".git");
+        github.setStars(42);
+        github.setCreatedAt(LocalDateTime.of(2011, 1, 26, 19, 1, 12));
+        github.setFetchedAt(Instant.ofEpochMilli(1_700_000_000_123L));
+        github.setEtag("W/\"abc\"");
+        github.setLastModified("Tue, 02 Jan 2024 03:04:05 GMT");
+        return github;
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.explorer.cache;
+
+import com.github.explorer.module.Github;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryCacheTest {
+
+    @Test
+    void testGetCountsHitsAndMisses() {
+        RepositoryCache cache = new RepositoryCache(new CacheProperties());
+        Github github = new Github();
+        github.setId("octocat/Hello-World");
+
+        assertThat(cache.get("octocat/Hello-World")).isNull();
+        cache.put("octocat/Hello-World", github);
+        assertThat(cache.get("octocat/Hello-World")).isSameAs(github);
+
+        CacheStatistics stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void testInvalidateRemovesEntry() {
+        RepositoryCache cache = new RepositoryCache(new CacheProperties());
+        cache.put("octocat/Hello-World", new Github());
+
+        cache.invalidate("octocat/Hello-World");
+
+        assertThat(cache.get("octocat/Hello-World")).isNull();
+    }
+
+    @Test
+    void testCompactModeServesCopiesAndCountsStats() {
+        CacheProperties properties = new CacheProperties();
+        properties.getCompact().setEnabled(true);
+        RepositoryCache cache = new RepositoryCache(properties);
+        Github github = new Github();
+        github.setId("octocat/Hello-World");
+        github.setFullName("octocat/Hello-World");
+
+        assertThat(cache.get("octocat/Hello-World")).isNull();
+        cache.put("octocat/Hello-World", github);
+        assertThat(cache.get("octocat/Hello-World")).isEqualTo(github).isNotSameAs(github);
+
+        CacheStatistics stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.explorer.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.explorer.module.Github;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryResponseCacheTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void testEncodeReusesBytesForSameInstance() {
+        RepositoryResponseCache cache = new RepositoryResponseCache(new CacheProperties(), objectMapper);
+        Github github = repository("Hello-World");
+
+        EncodedRepository first = cache.encode(github);
+        EncodedRepository second = cache.encode(github);
+
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.json())).contains("\"full_name\":\"octocat/Hello-World\"");
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void testCompactModeReusesBytesAcrossCopiesOfSameVersion() {
+        CacheProperties properties = new CacheProperties();
+        properties.getCompact().setEnabled(true);
+        RepositoryCache repositoryCache = new RepositoryCache(properties);
+        RepositoryResponseCache cache = new RepositoryResponseCache(properties, objectMapper);
+        Github github = repository("Hello-World");
+        github.setId("octocat/Hello-World");
+        github.setFetchedAt(Instant.parse("2024-01-02T03:04:05Z"));
+        repositoryCache.put(github.getId(), github);
+
+        EncodedRepository first = cache.encode(repositoryCache.get(github.getId()));
+        EncodedRepository second = cache.encode(repositoryCache.get(github.getId()));
+
+        assertThat(second).isSameAs(first);
+        github.setFetchedAt(Instant.parse("2024-01-02T04:04:05Z"));
+        repositoryCache.put(github.getId(), github);
+        assertThat(cache.encode(repositoryCache.get(github.getId()))).isNotSameAs(first);
+    }
+
+    @Test
+    void testEtagDependsOnlyOnPayload() {
+        RepositoryResponseCache cache = new RepositoryResponseCache(new CacheProperties(), objectMapper);
+
+        String etag = cache.encode(repository("Hello-World")).etag();
+
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        assertThat(cache.encode(repository("Hello-World")).etag()).isEqualTo(etag);
+        assertThat(cache.encode(repository("Spoon-Knife")).etag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void testGzipVariantOnlyAboveMinimumSize() throws Exception {
+        CacheProperties properties = new CacheProperties();
+        properties.getResponse().setGzipMinSize(64);
+        RepositoryResponseCache cache = new RepositoryResponseCache(properties, objectMapper);
+        Github large = repository("Hello-World");
+        large.setDescription("x".repeat(1_000));
+
+        EncodedRepository encoded = cache.encode(large);
+
+        assertThat(encoded.gzip()).isNotNull();
+        assertThat(encoded.gzip().length).isLessThan(encoded.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(encoded.json());
+        }
+        properties.getResponse().setGzipMinSize(100_000);
+        assertThat(new RepositoryResponseCache(properties, objectMapper).encode(large).gzip()).isNull();
+    }
+
+    private static Github repository(String name) {
+        Github github = new Github();
+        github.setId("octocat/" + name);
+        github.setFullName("octocat/" + name);
+        github.setStars(42);
+        return github;
+    }
+}
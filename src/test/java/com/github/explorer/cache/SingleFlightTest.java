@@ -0,0 +1,100 @@
+package com.github.explorer.cache;
+
+import com.github.explorer.exception.UpstreamTimeoutException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("octocat/Hello-World", () -> {
+                    loads.incrementAndGet();
+                    awaitQuietly(release);
+                    return "loaded";
+                }, Duration.ofSeconds(5))));
+            }
+            while (singleFlight.inFlightCount() == 0) {
+                Thread.onSpinWait();
+            }
+            Thread.sleep(50);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+            }
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void testFailureIsPropagatedToWaiters() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                throw new IllegalStateException("boom");
+            }, Duration.ofSeconds(5)));
+            started.await();
+            Future<String> waiter = executor.submit(() -> singleFlight.execute("key", () -> "unused", Duration.ofSeconds(5)));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertThatThrownBy(waiter::get).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(leader::get).hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void testWaiterTimesOut() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return "late";
+            }, Duration.ofSeconds(5)));
+            started.await();
+
+            assertThatThrownBy(() -> singleFlight.execute("key", () -> "unused", Duration.ofMillis(20)))
+                    .isInstanceOf(UpstreamTimeoutException.class);
+            release.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
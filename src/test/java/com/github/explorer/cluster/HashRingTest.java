@@ -0,0 +1,35 @@
+package com.github.explorer.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashRingTest {
+
+    private static final List<String> KEYS =
+            IntStream.range(0, 10_000).mapToObj(i -> "owner-" + (i % 97) + "/repository-" + i).toList();
+
+    @Test
+    void testAssignmentDoesNotDependOnNodeOrder() {
+        HashRing ring = new HashRing(List.of("http://a", "http://b", "http://c"), 64);
+        HashRing reordered = new HashRing(List.of("http://c", "http://a", "http://b"), 64);
+
+        assertThat(KEYS).allMatch(key -> ring.nodeFor(key).equals(reordered.nodeFor(key)));
+    }
+
+    @Test
+    void testAddingNodeOnlyMovesKeysToIt() {
+        HashRing ring = new HashRing(List.of("http://a", "http://b", "http://c"), 128);
+        HashRing grown = new HashRing(List.of("http://a", "http://b", "http://c", "http://d"), 128);
+
+        long moved = KEYS.stream().filter(key -> !ring.nodeFor(key).equals(grown.nodeFor(key))).count();
+
+        assertThat(KEYS).allMatch(key -> grown.nodeFor(key).equals(ring.nodeFor(key))
+                || grown.nodeFor(key).equals("http://d"));
+        // A fair share for the new node is a quarter of the keys
+        assertThat(moved).isBetween(1_500L, 3_500L);
+    }
+}
@@ -1,20 +1,32 @@
 package com.github.explorer.controller;
 
 import com.github.explorer.exception.RepositoryNotFoundException;
+import com.github.explorer.exception.UpstreamUnavailableException;
 import com.github.explorer.module.Github;
+import com.github.explorer.module.RepositoryLookupResult;
 import com.github.explorer.service.GithubRepositoryService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -47,6 +59,99 @@ class GithubRepositoryControllerTest {
         verify(githubRepositoryService, times(1)).getRepositoryDetails(owner, repositoryName);
     }
 
+    @Test
+    void testGetRepositoryDetails_NotModifiedWhenEtagMatches() throws Exception {
+        // Arrange
+        Github repository = new Github();
+        repository.setFullName("testowner/testrepo");
+        when(githubRepositoryService.getRepositoryDetails("testowner", "testrepo")).thenReturn(repository);
+        String etag = mockMvc.perform(get("/repositories/{owner}/{repositoryName}", "testowner", "testrepo"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(get("/repositories/{owner}/{repositoryName}", "testowner", "testrepo")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andReturn()
+                .getResponse();
+
+        // Assert
+        assertThat(etag).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void testGetRepositoryDetails_GzipWhenAccepted() throws Exception {
+        // Arrange
+        Github repository = new Github();
+        repository.setFullName("testowner/testrepo");
+        repository.setDescription("A description long enough to be worth compressing. ".repeat(10));
+        when(githubRepositoryService.getRepositoryDetails("testowner", "testrepo")).thenReturn(repository);
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(get("/repositories/{owner}/{repositoryName}", "testowner", "testrepo")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andReturn()
+                .getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains("testowner/testrepo");
+        }
+    }
+
+    @Test
+    void testGetRepositoryDetails_EachEncodingHasItsOwnEtag() throws Exception {
+        // Arrange
+        Github repository = new Github();
+        repository.setFullName("testowner/testrepo");
+        repository.setDescription("A description long enough to be worth compressing. ".repeat(10));
+        when(githubRepositoryService.getRepositoryDetails("testowner", "testrepo")).thenReturn(repository);
+        String identityEtag = mockMvc.perform(get("/repositories/{owner}/{repositoryName}", "testowner", "testrepo"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        String gzipEtag = mockMvc.perform(get("/repositories/{owner}/{repositoryName}", "testowner", "testrepo")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // Act
+        MockHttpServletResponse gzipRevalidated = mockMvc.perform(get("/repositories/{owner}/{repositoryName}", "testowner", "testrepo")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andReturn()
+                .getResponse();
+        MockHttpServletResponse identityWithGzipEtag = mockMvc.perform(get("/repositories/{owner}/{repositoryName}", "testowner", "testrepo")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andReturn()
+                .getResponse();
+        MockHttpServletResponse gzipWithIdentityEtag = mockMvc.perform(get("/repositories/{owner}/{repositoryName}", "testowner", "testrepo")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, identityEtag))
+                .andReturn()
+                .getResponse();
+
+        // Assert
+        assertThat(gzipEtag).isNotNull().isNotEqualTo(identityEtag).endsWith("-gzip\"");
+        assertThat(gzipRevalidated.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(gzipRevalidated.getHeader(HttpHeaders.ETAG)).isEqualTo(gzipEtag);
+        assertThat(gzipRevalidated.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(identityWithGzipEtag.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(identityWithGzipEtag.getHeader(HttpHeaders.ETAG)).isEqualTo(identityEtag);
+        assertThat(identityWithGzipEtag.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(gzipWithIdentityEtag.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(gzipWithIdentityEtag.getHeader(HttpHeaders.ETAG)).isEqualTo(gzipEtag);
+        assertThat(gzipWithIdentityEtag.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    }
+
     @Test
     void testGetRepositoryDetails_RepositoryNotFound() throws Exception {
         // Arrange
@@ -64,4 +169,59 @@ class GithubRepositoryControllerTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
         verify(githubRepositoryService, times(1)).getRepositoryDetails(owner, repositoryName);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetRepositoryDetails_UpstreamUnavailable() throws Exception {
+        // Arrange
+        String owner = "testowner";
+        String repositoryName = "testrepo";
+
+        when(githubRepositoryService.getRepositoryDetails(owner, repositoryName))
+                .thenThrow(new UpstreamUnavailableException("GitHub API is unavailable, retry later", Instant.now().plusSeconds(30)));
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(get("/repositories/{owner}/{repositoryName}", owner, repositoryName))
+                .andReturn()
+                .getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(Integer.parseInt(response.getHeader(HttpHeaders.RETRY_AFTER))).isBetween(29, 31);
+    }
+
+    @Test
+    void testGetRepositoryDetailsBatch() throws Exception {
+        // Arrange
+        Github repository = new Github();
+        repository.setFullName("testowner/testrepo");
+        List<String> repositoryIds = List.of("testowner/testrepo", "testowner/missing");
+
+        when(githubRepositoryService.getRepositoryDetails(repositoryIds)).thenReturn(List.of(
+                RepositoryLookupResult.found("testowner/testrepo", repository),
+                RepositoryLookupResult.failed("testowner/missing", 404, "Repository 'testowner/missing' not found")));
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(post("/repositories/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"testowner/testrepo\", \"testowner/missing\"]"))
+                .andReturn()
+                .getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).contains("\"full_name\":\"testowner/testrepo\"", "\"status\":404");
+        verify(githubRepositoryService, times(1)).getRepositoryDetails(repositoryIds);
+    }
+
+    @Test
+    void testEvictNotFound() throws Exception {
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(delete("/repositories/{owner}/{repositoryName}/not-found", "testowner", "testrepo"))
+                .andReturn()
+                .getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NO_CONTENT.value());
+        verify(githubRepositoryService, times(1)).evictNotFound("testowner", "testrepo");
+    }
+}
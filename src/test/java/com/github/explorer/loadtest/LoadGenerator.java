@@ -0,0 +1,90 @@
+package com.github.explorer.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Open-loop HTTP load generator: sends requests at a fixed rate regardless of how fast earlier ones complete.
+ * <p>
+ * Latency is measured from the time a request was scheduled, not from when it was actually sent, so a
+ * server that stalls is charged for the requests that queued up behind the stall (no coordinated omission).
+ */
+public class LoadGenerator {
+
+    private final HttpClient httpClient;
+    private final int maxInFlight;
+
+    public LoadGenerator(HttpClient httpClient, int maxInFlight) {
+        this.httpClient = httpClient;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Sends GET requests at {@code requestsPerSecond} for {@code duration} and waits for them to complete.
+     *
+     * @param targets           maps the sequence number of a request to its URI
+     * @param requestsPerSecond the target request rate
+     * @param duration          how long to keep sending
+     * @return the throughput, status and latency report
+     */
+    public LoadReport run(LongFunction<URI> targets, double requestsPerSecond, Duration duration) {
+        long intervalNanos = (long) (1e9 / requestsPerSecond);
+        long total = (long) (duration.toNanos() / 1e9 * requestsPerSecond);
+        long[] latencies = new long[(int) total];
+        AtomicInteger completed = new AtomicInteger();
+        Map<Integer, Long> statusCounts = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long dropped = 0;
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long sequence = 0; sequence < total; sequence++) {
+                long scheduledAt = start + sequence * intervalNanos;
+                long wait = scheduledAt - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!inFlight.tryAcquire()) {
+                    dropped++;
+                    continue;
+                }
+                HttpRequest request = HttpRequest.newBuilder(targets.apply(sequence)).GET().build();
+                executor.execute(() -> {
+                    try {
+                        int status = send(request);
+                        statusCounts.merge(status, 1L, Long::sum);
+                        latencies[completed.getAndIncrement()] = System.nanoTime() - scheduledAt;
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long[] recorded = new long[completed.get()];
+        System.arraycopy(latencies, 0, recorded, 0, recorded.length);
+        return LoadReport.of(total, dropped, statusCounts, Duration.ofNanos(System.nanoTime() - start), recorded);
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.explorer.loadtest;
+
+import com.github.explorer.stub.GithubApiStub;
+import com.github.explorer.stub.LatencyDistribution;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadGeneratorTest {
+
+    @Test
+    void runSendsAtTargetRateAndReportsStatusesAndLatency() throws Exception {
+        try (GithubApiStub stub = GithubApiStub.builder()
+                .latency(LatencyDistribution.fixed(Duration.ofMillis(20)))
+                .missing("octocat/missing")
+                .start()) {
+            LoadGenerator generator = new LoadGenerator(HttpClient.newHttpClient(), 100);
+
+            LoadReport report = generator.run(sequence -> URI.create(stub.baseUrl() + "/repos/octocat/"
+                    + (sequence % 2 == 0 ? "Hello-World" : "missing")), 100, Duration.ofMillis(500));
+
+            assertThat(report.scheduled()).isEqualTo(50);
+            assertThat(report.dropped()).isZero();
+            assertThat(report.completed()).isEqualTo(50);
+            assertThat(report.statusCounts()).containsEntry(200, 25L).containsEntry(404, 25L);
+            assertThat(report.percentile(50)).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+            assertThat(stub.requestCount()).isEqualTo(50);
+        }
+    }
+
+    @Test
+    void stubEnforcesRateLimitBudget() throws Exception {
+        try (GithubApiStub stub = GithubApiStub.builder().rateLimit(3, Duration.ofHours(1)).start()) {
+            LoadGenerator generator = new LoadGenerator(HttpClient.newHttpClient(), 10);
+
+            LoadReport report = generator.run(sequence -> URI.create(stub.baseUrl() + "/repos/octocat/Hello-World"),
+                    50, Duration.ofMillis(100));
+
+            assertThat(report.statusCounts()).containsEntry(200, 3L).containsEntry(403, 2L);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.explorer.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcome of a {@link LoadGenerator} run.
+ *
+ * @param scheduled     requests the generator was due to send
+ * @param dropped       requests not sent because {@code max-in-flight} requests were already outstanding
+ * @param statusCounts  completed requests per HTTP status; transport failures are counted under 0
+ * @param elapsed       wall-clock time from the first scheduled request to the last completion
+ * @param latencyNanos  sorted latencies of completed requests, measured from their scheduled start
+ */
+public record LoadReport(long scheduled, long dropped, Map<Integer, Long> statusCounts, Duration elapsed,
+                         long[] latencyNanos) {
+
+    public long completed() {
+        return latencyNanos.length;
+    }
+
+    public double throughput() {
+        return elapsed.isZero() ? 0 : completed() / (elapsed.toNanos() / 1e9);
+    }
+
+    /**
+     * Returns a latency percentile.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency at that percentile, or zero if nothing completed
+     */
+    public Duration percentile(double percentile) {
+        if (latencyNanos.length == 0) {
+            return Duration.ZERO;
+        }
+        int index = (int) Math.ceil(percentile / 100 * latencyNanos.length) - 1;
+        return Duration.ofNanos(latencyNanos[Math.clamp(index, 0, latencyNanos.length - 1)]);
+    }
+
+    static LoadReport of(long scheduled, long dropped, Map<Integer, Long> statusCounts, Duration elapsed,
+                         long[] latencyNanos) {
+        long[] sorted = latencyNanos.clone();
+        Arrays.sort(sorted);
+        return new LoadReport(scheduled, dropped, new TreeMap<>(statusCounts), elapsed, sorted);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("""
+                        scheduled   %d (dropped %d)
+                        completed   %d in %.1fs, %.1f req/s
+                        statuses    %s
+                        latency     p50 %s  p90 %s  p99 %s  p99.9 %s  max %s""",
+                scheduled, dropped, completed(), elapsed.toNanos() / 1e9, throughput(), statusCounts,
+                millis(percentile(50)), millis(percentile(90)), millis(percentile(99)), millis(percentile(99.9)),
+                millis(percentile(100)));
+    }
+
+    private static String millis(Duration duration) {
+        return String.format("%.2fms", duration.toNanos() / 1e6);
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.explorer.loadtest;
+
+import com.github.explorer.ExplorerApplication;
+import com.github.explorer.stub.GithubApiStub;
+import com.github.explorer.stub.LatencyDistribution;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts a {@link GithubApiStub}, boots the application against it and drives
+ * {@code GET /repositories/{owner}/{repositoryName}} at a target rate, then prints throughput and latency
+ * percentiles.
+ * <p>
+ * Settings are read from system properties:
+ * <ul>
+ *     <li>{@code loadtest.rps}: target requests per second (default 200)</li>
+ *     <li>{@code loadtest.duration}: ISO-8601 run time (default PT30S), preceded by a warm-up of a fifth of it</li>
+ *     <li>{@code loadtest.repositories}: number of distinct repositories requested (default 2000)</li>
+ *     <li>{@code loadtest.max-in-flight}: outstanding request cap before requests are dropped (default 1000)</li>
+ *     <li>{@code loadtest.latency}: stub latency, see {@link LatencyDistribution#parse(String)} (default lognormal:80:400)</li>
+ *     <li>{@code loadtest.not-found-rate}, {@code loadtest.forbidden-rate}: stub error rates (default 0.05, 0.01)</li>
+ *     <li>{@code loadtest.rate-limit}: stub budget per hour (default 1000000)</li>
+ * </ul>
+ * Any other {@code --key=value} program arguments are passed to the application.
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rps = Double.parseDouble(System.getProperty("loadtest.rps", "200"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        int repositories = Integer.getInteger("loadtest.repositories", 2000);
+        int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 1000);
+
+        try (GithubApiStub stub = GithubApiStub.builder()
+                .latency(LatencyDistribution.parse(System.getProperty("loadtest.latency", "lognormal:80:400")))
+                .notFoundRate(Double.parseDouble(System.getProperty("loadtest.not-found-rate", "0.05")))
+                .forbiddenRate(Double.parseDouble(System.getProperty("loadtest.forbidden-rate", "0.01")))
+                .rateLimit(Long.getLong("loadtest.rate-limit", 1_000_000), Duration.ofHours(1))
+                .start();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(ExplorerApplication.class)
+                     .run(applicationArguments(stub, args))) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/repositories/load-test/repository-";
+            LoadGenerator generator = new LoadGenerator(HttpClient.newHttpClient(), maxInFlight);
+
+            System.out.printf("Warming up for %s at %.0f req/s%n", duration.dividedBy(5), rps);
+            generator.run(sequence -> URI.create(base + (sequence % repositories)), rps, duration.dividedBy(5));
+
+            System.out.printf("Measuring for %s at %.0f req/s over %d repositories%n", duration, rps, repositories);
+            LoadReport report = generator.run(sequence -> URI.create(base + (sequence % repositories)), rps, duration);
+            System.out.println(report);
+            System.out.printf("upstream    %d requests to the GitHub stub%n", stub.requestCount());
+        }
+    }
+
+    private static String[] applicationArguments(GithubApiStub stub, String[] args) {
+        Map<String, String> arguments = new LinkedHashMap<>();
+        arguments.put("server.port", "0");
+        arguments.put("spring.jpa.show-sql", "false");
+        arguments.put("logging.level.root", "WARN");
+        arguments.put("explorer.upstream.base-url", stub.baseUrl());
+        arguments.put("explorer.upstream.rate-limit.requests-per-second", "100000");
+        arguments.put("explorer.upstream.rate-limit.burst", "100000");
+        // Repeated keys would be joined rather than overridden, so explicit arguments replace the defaults
+        for (String arg : args) {
+            String[] keyValue = arg.replaceFirst("^--", "").split("=", 2);
+            arguments.put(keyValue[0], keyValue.length > 1 ? keyValue[1] : "");
+        }
+        return arguments.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.explorer.repo;
+
+import com.github.explorer.module.Github;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest
+class GithubBatchWriterTest {
+
+    @Autowired
+    private GithubBatchWriter githubBatchWriter;
+
+    @Autowired
+    private GithubRepository githubRepository;
+
+    @AfterEach
+    void tearDown() {
+        githubRepository.deleteAll();
+    }
+
+    @Test
+    void testUpsertAllInsertsAndUpdates() {
+        Instant fetchedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        Github github = new Github();
+        github.setId("octocat/Hello-World");
+        github.setFullName("octocat/Hello-World");
+        github.setStars(1);
+        github.setCreatedAt(LocalDateTime.of(2011, 1, 26, 19, 1, 12));
+        github.setEtag("\"abc\"");
+        github.setFetchedAt(fetchedAt);
+
+        githubBatchWriter.upsertAll(List.of(github));
+        github.setStars(2);
+        githubBatchWriter.upsertAll(List.of(github));
+
+        Github stored = githubRepository.findById("octocat/Hello-World").orElseThrow();
+        assertThat(githubRepository.count()).isEqualTo(1);
+        assertThat(stored.getStars()).isEqualTo(2);
+        assertThat(stored.getCreatedAt()).isEqualTo(github.getCreatedAt());
+        assertThat(stored.getEtag()).isEqualTo("\"abc\"");
+        assertThat(stored.getFetchedAt()).isEqualTo(fetchedAt);
+    }
+}
@@ -1,8 +1,21 @@
 package com.github.explorer.service;
 
+import com.github.explorer.cache.CacheProperties;
+import com.github.explorer.cache.NegativeCache;
+import com.github.explorer.cache.RepositoryCache;
+import com.github.explorer.cluster.PeerRouter;
+import com.github.explorer.exception.RateLimitExceededException;
 import com.github.explorer.exception.RepositoryNotFoundException;
+import com.github.explorer.exception.UpstreamUnavailableException;
+import com.github.explorer.metrics.LookupMetrics;
 import com.github.explorer.module.Github;
+import com.github.explorer.module.RepositoryLookupResult;
 import com.github.explorer.repo.GithubRepository;
+import com.github.explorer.upstream.Bulkhead;
+import com.github.explorer.upstream.CircuitBreaker;
+import com.github.explorer.upstream.UpstreamProperties;
+import com.github.explorer.upstream.UpstreamScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -11,16 +24,25 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.AssertionsForClassTypes.*;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,10 +60,52 @@ class GithubRepositoryServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private CacheProperties cacheProperties = new CacheProperties();
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties();
+
+    @Spy
+    private UpstreamScheduler upstreamScheduler = new UpstreamScheduler(new UpstreamProperties());
+
+    @Spy
+    private CircuitBreaker circuitBreaker = new CircuitBreaker(circuitBreakerProperties());
+
+    @Spy
+    private Bulkhead bulkhead = new Bulkhead(new UpstreamProperties());
+
+    @Spy
+    private RepositoryRefresher repositoryRefresher = new RepositoryRefresher(new CacheProperties());
+
+    @Mock
+    private WriteBehindQueue writeBehindQueue;
+
+    @Mock
+    private GraphqlBatchLoader graphqlBatchLoader;
+
+    @Mock
+    private PeerRouter peerRouter;
+
+    @Spy
+    private NegativeCache negativeCache = new NegativeCache(new CacheProperties());
+
+    @Spy
+    private RepositoryCache repositoryCache = new RepositoryCache(new CacheProperties());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private LookupMetrics lookupMetrics = new LookupMetrics(meterRegistry);
+
 
     @BeforeEach
     void setUp() {
         githubRepositoryService.setRestTemplate(restTemplate);
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(writeBehindQueue).writeThrough(anyString(), any(Runnable.class));
     }
 
     @Test
@@ -63,6 +127,25 @@ class GithubRepositoryServiceTest {
     }
 
 
+    @Test
+    void testGetRepositoryDetails_ServedFromCacheOnSecondCall() {
+        String owner = "octocat";
+        String repositoryName = "Hello-World";
+        String repositoryId = owner + "/" + repositoryName;
+
+        Github expectedRepository = new Github();
+        expectedRepository.setId(repositoryId);
+
+        when(githubRepository.findById(repositoryId)).thenReturn(Optional.of(expectedRepository));
+
+        githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+        Github actualRepository = githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+
+        assertThat(actualRepository).isSameAs(expectedRepository);
+        verify(githubRepository, times(1)).findById(repositoryId);
+        assertThat(repositoryCache.stats().hits()).isEqualTo(1);
+    }
+
     @Test
     void testGetRepositoryDetails_IllegalArgument() {
         String owner = null;
@@ -145,4 +228,492 @@ class GithubRepositoryServiceTest {
         verify(githubRepository, times(1)).findById(repositoryId);
         verify(restTemplate, times(1)).exchange(anyString(), any(), any(), any(Class.class), any(Map.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetRepositoryDetails_ExpiredEntryRevalidatedWithNotModified() {
+        String owner = "octocat";
+        String repositoryName = "Hello-World";
+        String repositoryId = owner + "/" + repositoryName;
+
+        Github stored = new Github();
+        stored.setId(repositoryId);
+        stored.setEtag("\"abc\"");
+        stored.setFetchedAt(Instant.now().minus(Duration.ofDays(2)));
+
+        when(githubRepository.findById(repositoryId)).thenReturn(Optional.of(stored));
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_MODIFIED));
+
+        Instant storedFetchedAt = stored.getFetchedAt();
+
+        Github actualRepository = githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+
+        assertThat(actualRepository).isNotSameAs(stored);
+        assertThat(actualRepository.getEtag()).isEqualTo("\"abc\"");
+        assertThat(actualRepository.getFetchedAt()).isAfter(Instant.now().minus(Duration.ofMinutes(1)));
+        assertThat(stored.getFetchedAt()).isEqualTo(storedFetchedAt);
+        assertThat(repositoryCache.get(repositoryId)).isSameAs(actualRepository);
+        verify(restTemplate).exchange(anyString(), any(),
+                argThat((HttpEntity<?> entity) -> entity.getHeaders().getIfNoneMatch().contains("\"abc\"")),
+                any(Class.class), any(Map.class));
+        verify(githubRepository).updateFetchedAt(repositoryId, actualRepository.getFetchedAt());
+        verify(githubRepository, never()).save(any(Github.class));
+    }
+
+    @Test
+    void testGetRepositoryDetails_ExpiredEntryReplacedWhenModified() {
+        String owner = "octocat";
+        String repositoryName = "Hello-World";
+        String repositoryId = owner + "/" + repositoryName;
+
+        Github stored = new Github();
+        stored.setId(repositoryId);
+        stored.setStars(1);
+        stored.setFetchedAt(Instant.now().minus(Duration.ofDays(2)));
+        Github modified = new Github();
+        modified.setStars(2);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"def\"");
+
+        when(githubRepository.findById(repositoryId)).thenReturn(Optional.of(stored));
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenReturn(new ResponseEntity<>(modified, headers, HttpStatus.OK));
+
+        Github actualRepository = githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+
+        assertThat(actualRepository.getStars()).isEqualTo(2);
+        assertThat(actualRepository.getId()).isEqualTo(repositoryId);
+        assertThat(actualRepository.getEtag()).isEqualTo("\"def\"");
+        verify(githubRepository).save(modified);
+    }
+
+    @Test
+    void testGetRepositoryDetails_BatchResolvesEachIdIndependently() {
+        Github cached = new Github();
+        cached.setId("octocat/cached");
+        repositoryCache.put("octocat/cached", cached);
+        Github stored = new Github();
+        stored.setId("octocat/stored");
+
+        when(githubRepository.findAllById(List.of("octocat/stored", "octocat/fetched", "octocat/missing")))
+                .thenReturn(List.of(stored));
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenAnswer(invocation -> {
+                    Map<String, String> uriVariables = invocation.getArgument(4);
+                    if ("missing".equals(uriVariables.get("repositoryName"))) {
+                        throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null);
+                    }
+                    return new ResponseEntity<>(new Github(), HttpStatus.OK);
+                });
+
+        List<RepositoryLookupResult> results = githubRepositoryService.getRepositoryDetails(List.of(
+                "octocat/cached", "octocat/stored", "octocat/fetched", "octocat/missing", "not-an-id", "octocat/cached"));
+
+        assertThat(results.stream().map(RepositoryLookupResult::id).toList())
+                .isEqualTo(List.of("octocat/cached", "octocat/stored", "octocat/fetched", "octocat/missing", "not-an-id"));
+        assertThat(results.stream().map(RepositoryLookupResult::status).toList())
+                .isEqualTo(List.of(200, 200, 200, 404, 400));
+        assertThat(results.get(0).repository()).isSameAs(cached);
+        assertThat(results.get(1).repository()).isSameAs(stored);
+        assertThat(results.get(2).repository().getId()).isEqualTo("octocat/fetched");
+        verify(githubRepository, never()).findById(anyString());
+        verify(restTemplate, times(2)).exchange(anyString(), any(), any(), any(Class.class), any(Map.class));
+    }
+
+    @Test
+    void testGetRepositoryDetails_BatchTooLarge() {
+        batchProperties.setMaxSize(1);
+
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(List.of("a/b", "c/d")))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(githubRepository);
+    }
+
+    @Test
+    void testGetRepositoryDetails_RateLimitExhaustedFailsFast() {
+        String owner = "prpundge";
+        String repositoryName = "testRepository";
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", "0");
+        headers.set("X-RateLimit-Reset", String.valueOf(Instant.now().plus(Duration.ofMinutes(10)).getEpochSecond()));
+
+        when(githubRepository.findById(owner + "/" + repositoryName)).thenReturn(Optional.empty());
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.FORBIDDEN, "Forbidden", headers, null, null));
+
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, repositoryName))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, "otherRepository"))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        verify(restTemplate, times(1)).exchange(anyString(), any(), any(), any(Class.class), any(Map.class));
+    }
+
+    @Test
+    void testGetRepositoryDetails_SecondaryRateLimitFailsFastUntilRetryAfter() {
+        String owner = "prpundge";
+        String repositoryName = "testRepository";
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "30");
+
+        when(githubRepository.findById(owner + "/" + repositoryName)).thenReturn(Optional.empty());
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.FORBIDDEN, "Forbidden", headers, null, null));
+
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, repositoryName))
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting(e -> ((RateLimitExceededException) e).getRetryAt())
+                .satisfies(retryAt -> assertThat((Instant) retryAt).isBetween(
+                        Instant.now().plusSeconds(25), Instant.now().plusSeconds(31)));
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, "otherRepository"))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        verify(restTemplate, times(1)).exchange(anyString(), any(), any(), any(Class.class), any(Map.class));
+    }
+
+    @Test
+    void testGetRepositoryDetails_SoftExpiredEntryServedAndRefreshedInBackground() {
+        String owner = "octocat";
+        String repositoryName = "Hello-World";
+        String repositoryId = owner + "/" + repositoryName;
+
+        Github stored = new Github();
+        stored.setId(repositoryId);
+        stored.setEtag("\"abc\"");
+        stored.setFetchedAt(Instant.now().minus(Duration.ofHours(2)));
+
+        when(githubRepository.findById(repositoryId)).thenReturn(Optional.of(stored));
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_MODIFIED));
+
+        Github actualRepository = githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+
+        assertThat(actualRepository).isSameAs(stored);
+        verify(repositoryRefresher).submit(eq(repositoryId), any(Runnable.class));
+        verify(githubRepository, timeout(2000)).updateFetchedAt(eq(repositoryId), any(Instant.class));
+        verify(githubRepository, never()).save(any(Github.class));
+    }
+
+    @Test
+    void testGetRepositoryDetails_StaleEntryServedAndReplacedInBackgroundWhenModified() {
+        String owner = "octocat";
+        String repositoryName = "Hello-World";
+        String repositoryId = owner + "/" + repositoryName;
+
+        Github stored = new Github();
+        stored.setId(repositoryId);
+        stored.setStars(1);
+        stored.setEtag("\"abc\"");
+        // Past the 1 hour soft TTL but well within the 24 hour hard TTL
+        stored.setFetchedAt(Instant.now().minus(Duration.ofHours(2)));
+        Github modified = new Github();
+        modified.setStars(2);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"def\"");
+
+        when(githubRepository.findById(repositoryId)).thenReturn(Optional.of(stored));
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenReturn(new ResponseEntity<>(modified, headers, HttpStatus.OK));
+
+        Github actualRepository = githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+
+        assertThat(actualRepository).isSameAs(stored);
+        assertThat(actualRepository.getStars()).isEqualTo(1);
+        verify(githubRepository, timeout(2000)).save(modified);
+        verify(restTemplate).exchange(anyString(), any(),
+                argThat((HttpEntity<?> entity) -> entity.getHeaders().getIfNoneMatch().contains("\"abc\"")),
+                any(Class.class), any(Map.class));
+        assertThat(modified.getId()).isEqualTo(repositoryId);
+        assertThat(modified.getEtag()).isEqualTo("\"def\"");
+    }
+
+    @Test
+    void testSweepRefreshesEntryAboutToTurnStale() {
+        String repositoryId = "octocat/Hello-World";
+
+        Github stored = new Github();
+        stored.setId(repositoryId);
+        stored.setEtag("\"abc\"");
+        // Inside the 5 minute sweep-ahead window before the 1 hour soft TTL, but still fresh
+        stored.setFetchedAt(Instant.now().minus(Duration.ofMinutes(57)));
+
+        when(githubRepository.findIdsFetchedBefore(any(Instant.class), anyString(), any(Pageable.class)))
+                .thenReturn(List.of(repositoryId));
+        when(githubRepository.findById(repositoryId)).thenReturn(Optional.of(stored));
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_MODIFIED));
+        RepositoryRefreshSweeper sweeper = new RepositoryRefreshSweeper();
+        ReflectionTestUtils.setField(sweeper, "githubRepository", githubRepository);
+        ReflectionTestUtils.setField(sweeper, "githubRepositoryService", githubRepositoryService);
+        ReflectionTestUtils.setField(sweeper, "cacheProperties", cacheProperties);
+        assertThat(githubRepositoryService.freshness(stored)).isEqualTo(GithubRepositoryService.Freshness.FRESH);
+
+        sweeper.sweep();
+
+        verify(restTemplate, timeout(2000)).exchange(anyString(), any(), any(), any(Class.class), any(Map.class));
+        verify(githubRepository, timeout(2000)).updateFetchedAt(eq(repositoryId), any(Instant.class));
+    }
+
+    @Test
+    void testSweepContinuesAfterLastIdAndWrapsAround() {
+        cacheProperties.getRefresh().setBatchSize(2);
+        when(githubRepository.findIdsFetchedBefore(any(Instant.class), eq(""), any(Pageable.class)))
+                .thenReturn(List.of("octocat/a", "octocat/b"));
+        when(githubRepository.findIdsFetchedBefore(any(Instant.class), eq("octocat/b"), any(Pageable.class)))
+                .thenReturn(List.of("octocat/c"));
+        RepositoryRefreshSweeper sweeper = new RepositoryRefreshSweeper();
+        ReflectionTestUtils.setField(sweeper, "githubRepository", githubRepository);
+        ReflectionTestUtils.setField(sweeper, "githubRepositoryService", githubRepositoryService);
+        ReflectionTestUtils.setField(sweeper, "cacheProperties", cacheProperties);
+
+        sweeper.sweep();
+        sweeper.sweep();
+        sweeper.sweep();
+
+        verify(githubRepository, times(2)).findIdsFetchedBefore(any(Instant.class), eq(""), any(Pageable.class));
+        verify(githubRepository, times(1)).findIdsFetchedBefore(any(Instant.class), eq("octocat/b"), any(Pageable.class));
+    }
+
+    @Test
+    void testGetRepositoryDetails_NotFoundAnsweredFromNegativeCache() {
+        String owner = "prpundge";
+        String repositoryName = "Angular_Practic";
+
+        when(githubRepository.findById(owner + "/" + repositoryName)).thenReturn(Optional.empty());
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, repositoryName))
+                .isInstanceOf(RepositoryNotFoundException.class);
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, repositoryName))
+                .isInstanceOf(RepositoryNotFoundException.class)
+                .hasMessage("Repository 'prpundge/Angular_Practic' not found");
+        verify(restTemplate, times(1)).exchange(anyString(), any(), any(), any(Class.class), any(Map.class));
+
+        githubRepositoryService.evictNotFound(owner, repositoryName);
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, repositoryName))
+                .isInstanceOf(RepositoryNotFoundException.class);
+        verify(restTemplate, times(2)).exchange(anyString(), any(), any(), any(Class.class), any(Map.class));
+    }
+
+    @Test
+    void testGetRepositoryDetails_TransientFailureNotNegativelyCached() {
+        String owner = "prpundge";
+        String repositoryName = "testRepository";
+
+        when(githubRepository.findById(owner + "/" + repositoryName)).thenReturn(Optional.empty());
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenThrow(new RestClientException("Connection reset"));
+
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, repositoryName))
+                .isNotInstanceOf(RepositoryNotFoundException.class);
+
+        assertThat(negativeCache.isKnownMissing(owner + "/" + repositoryName)).isFalse();
+    }
+
+    @Test
+    void testGetRepositoryDetails_FetchedRepositoryHandedToWriteBehindQueue() {
+        String owner = "prpundge";
+        String repositoryName = "testRepository";
+
+        when(githubRepository.findById(owner + "/" + repositoryName)).thenReturn(Optional.empty());
+        when(writeBehindQueue.enqueue(any(Github.class))).thenReturn(true);
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenReturn(new ResponseEntity<>(new Github(), HttpStatus.OK));
+
+        Github actualRepository = githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+
+        verify(writeBehindQueue).enqueue(actualRepository);
+        verify(githubRepository, never()).save(any(Github.class));
+    }
+
+    @Test
+    void testGetRepositoryDetails_RevalidationReplacesQueuedCopy() {
+        String owner = "octocat";
+        String repositoryName = "Hello-World";
+        String repositoryId = owner + "/" + repositoryName;
+
+        Github queued = new Github();
+        queued.setId(repositoryId);
+        queued.setEtag("\"abc\"");
+        queued.setFetchedAt(Instant.now().minus(Duration.ofDays(2)));
+
+        when(githubRepository.findById(repositoryId)).thenReturn(Optional.empty());
+        when(writeBehindQueue.pending(repositoryId)).thenReturn(queued);
+        when(writeBehindQueue.enqueue(any(Github.class))).thenReturn(true);
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_MODIFIED));
+
+        Github actualRepository = githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+
+        verify(writeBehindQueue).enqueue(actualRepository);
+        verify(githubRepository, never()).updateFetchedAt(anyString(), any(Instant.class));
+    }
+
+    @Test
+    void testGetRepositoryDetails_DirectSaveAndDeleteGoThroughWriteBehindQueue() {
+        String owner = "octocat";
+        String repositoryName = "Hello-World";
+        String repositoryId = owner + "/" + repositoryName;
+
+        Github stored = new Github();
+        stored.setId(repositoryId);
+        stored.setFetchedAt(Instant.now().minus(Duration.ofDays(2)));
+
+        when(githubRepository.findById(repositoryId)).thenReturn(Optional.empty(), Optional.of(stored));
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenReturn(new ResponseEntity<>(new Github(), HttpStatus.OK))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+
+        githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+        repositoryCache.invalidate(repositoryId);
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, repositoryName))
+                .isInstanceOf(RepositoryNotFoundException.class);
+
+        verify(writeBehindQueue, times(2)).writeThrough(eq(repositoryId), any(Runnable.class));
+        verify(githubRepository).save(any(Github.class));
+        verify(githubRepository).deleteById(repositoryId);
+    }
+
+    @Test
+    void testGetRepositoryDetails_RecordsLookupSourceAndUpstreamStatus() {
+        String owner = "prpundge";
+        String repositoryName = "testRepository";
+
+        when(githubRepository.findById(owner + "/" + repositoryName)).thenReturn(Optional.empty());
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenReturn(new ResponseEntity<>(new Github(), HttpStatus.OK))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+
+        githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+        githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, "missing"))
+                .isInstanceOf(RepositoryNotFoundException.class);
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, "missing"))
+                .isInstanceOf(RepositoryNotFoundException.class);
+
+        assertThat(meterRegistry.get("explorer.lookups").tag("source", "upstream").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("explorer.lookups").tag("source", "cache").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("explorer.lookups").tag("source", "negative_cache").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("explorer.upstream.requests").tags("lane", "interactive", "status", "200").timer().count())
+                .isEqualTo(1L);
+        assertThat(meterRegistry.get("explorer.upstream.requests").tags("lane", "interactive", "status", "404").timer().count())
+                .isEqualTo(1L);
+        assertThat(meterRegistry.get("explorer.repository.saves").tag("mode", "direct").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    void testGetRepositoryDetails_CircuitOpensAfterRepeatedFailures() {
+        String owner = "prpundge";
+
+        when(githubRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenThrow(new RestClientException("Connection refused"));
+
+        for (int i = 0; i < 3; i++) {
+            String repositoryName = "repository" + i;
+            assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, repositoryName))
+                    .isNotInstanceOf(UpstreamUnavailableException.class);
+        }
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, "repository3"))
+                .isInstanceOf(UpstreamUnavailableException.class);
+
+        verify(restTemplate, times(3)).exchange(anyString(), any(), any(), any(Class.class), any(Map.class));
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(bulkhead.inUse()).isZero();
+    }
+
+    @Test
+    void testGetRepositoryDetails_BulkheadRejectionReturnsRateLimitToken() {
+        String owner = "octocat";
+        String repositoryName = "Hello-World";
+
+        when(githubRepository.findById(owner + "/" + repositoryName)).thenReturn(Optional.empty());
+        doThrow(new UpstreamUnavailableException("Too many GitHub API calls in progress, retry later", Instant.now()))
+                .when(bulkhead).acquire();
+
+        assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, repositoryName))
+                .isInstanceOf(UpstreamUnavailableException.class);
+
+        verify(upstreamScheduler).acquire(UpstreamScheduler.Priority.INTERACTIVE);
+        verify(upstreamScheduler).release();
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testGetRepositoryDetails_ExpiredEntryServedWhileCircuitOpen() {
+        String owner = "octocat";
+        String repositoryName = "Hello-World";
+        String repositoryId = owner + "/" + repositoryName;
+
+        Github stored = new Github();
+        stored.setId(repositoryId);
+        stored.setFetchedAt(Instant.now().minus(Duration.ofDays(2)));
+
+        when(githubRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(githubRepository.findById(repositoryId)).thenReturn(Optional.of(stored));
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenThrow(new RestClientException("Connection refused"));
+        for (int i = 0; i < 3; i++) {
+            String otherName = "repository" + i;
+            assertThatThrownBy(() -> githubRepositoryService.getRepositoryDetails(owner, otherName));
+        }
+
+        Github actualRepository = githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+
+        assertThat(actualRepository).isSameAs(stored);
+        verify(restTemplate, times(3)).exchange(anyString(), any(), any(), any(Class.class), any(Map.class));
+    }
+
+    @Test
+    void testGetRepositoryDetails_MissLoadedFromOwningPeer() {
+        String owner = "octocat";
+        String repositoryName = "Hello-World";
+        String repositoryId = owner + "/" + repositoryName;
+
+        Github fromPeer = new Github();
+        fromPeer.setFullName(repositoryId);
+        fromPeer.setFetchedAt(Instant.now());
+
+        when(githubRepository.findById(repositoryId)).thenReturn(Optional.empty());
+        when(peerRouter.fetch(owner, repositoryName)).thenReturn(fromPeer);
+
+        Github actualRepository = githubRepositoryService.getRepositoryDetails(owner, repositoryName);
+
+        assertThat(actualRepository).isSameAs(fromPeer);
+        assertThat(actualRepository.getId()).isEqualTo(repositoryId);
+        verify(githubRepository).save(fromPeer);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testGetRepositoryDetailsForPeer_StaleEntryRevalidatedWhenPeerRevalidates() {
+        String owner = "octocat";
+        String repositoryName = "Hello-World";
+        String repositoryId = owner + "/" + repositoryName;
+
+        Github stored = new Github();
+        stored.setId(repositoryId);
+        stored.setEtag("\"abc\"");
+        stored.setFetchedAt(Instant.now().minus(Duration.ofHours(2)));
+
+        when(githubRepository.findById(repositoryId)).thenReturn(Optional.of(stored));
+        when(peerRouter.serveForwarded(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(restTemplate.exchange(anyString(), any(), any(), any(Class.class), any(Map.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_MODIFIED));
+
+        Github actualRepository = githubRepositoryService.getRepositoryDetailsForPeer(owner, repositoryName, true);
+
+        assertThat(actualRepository.getFetchedAt()).isAfter(Instant.now().minus(Duration.ofMinutes(1)));
+        verify(restTemplate, atLeastOnce()).exchange(anyString(), any(),
+                argThat((HttpEntity<?> entity) -> entity.getHeaders().getIfNoneMatch().contains("\"abc\"")),
+                any(Class.class), any(Map.class));
+    }
+
+    private static UpstreamProperties circuitBreakerProperties() {
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.getCircuitBreaker().setWindowSize(3);
+        properties.getCircuitBreaker().setMinimumCalls(3);
+        return properties;
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.explorer.service;
+
+import com.github.explorer.module.Github;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+class RepositorySnapshotCodecTest {
+
+    @Test
+    void testRoundTrip() throws Exception {
+        Github full = new Github();
+        full.setId("octocat/Hello-World");
+        full.setFullName("octocat/Hello-World");
+        full.setDescription("My first repository on GitHub! ✨");
+        full.setCloneUrl("https://github.com/octocat/Hello-World.git");
+        full.setStars(2500);
+        full.setCreatedAt(LocalDateTime.of(2011, 1, 26, 19, 1, 12));
+        full.setEtag("\"abc\"");
+        full.setLastModified("Wed, 26 Jan 2011 19:01:12 GMT");
+        full.setFetchedAt(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        Github sparse = new Github();
+        sparse.setId("prpundge/empty");
+
+        byte[] bytes = encode(full, sparse);
+        List<Github> decoded = new ArrayList<>();
+        long count = RepositorySnapshotCodec.read(ByteBuffer.wrap(bytes), decoded::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(decoded.get(0)).isEqualTo(full);
+        assertThat(decoded.get(1)).isEqualTo(sparse);
+    }
+
+    @Test
+    void testRejectsUnsupportedVersion() throws Exception {
+        byte[] bytes = encode();
+        ByteBuffer.wrap(bytes).putInt(4, RepositorySnapshotCodec.VERSION + 1);
+
+        assertThatThrownBy(() -> RepositorySnapshotCodec.read(ByteBuffer.wrap(bytes), github -> { }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported snapshot version");
+    }
+
+    @Test
+    void testRejectsTruncatedSnapshot() throws Exception {
+        Github github = new Github();
+        github.setId("octocat/Hello-World");
+        byte[] bytes = encode(github);
+
+        assertThatThrownBy(() -> RepositorySnapshotCodec.read(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 12)), g -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRejectsCorruptStringLength() throws Exception {
+        Github github = new Github();
+        github.setId("octocat/Hello-World");
+        byte[] bytes = encode(github);
+        // The id length follows the 16-byte header and the record marker
+        ByteBuffer.wrap(bytes).putInt(17, Integer.MAX_VALUE);
+        byte[] negative = encode(github);
+        ByteBuffer.wrap(negative).putInt(17, -2);
+
+        assertThatThrownBy(() -> RepositorySnapshotCodec.read(ByteBuffer.wrap(bytes), g -> { }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Corrupt repository snapshot");
+        assertThatThrownBy(() -> RepositorySnapshotCodec.read(ByteBuffer.wrap(negative), g -> { }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Corrupt repository snapshot");
+    }
+
+    private static byte[] encode(Github... repositories) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            RepositorySnapshotCodec.write(List.of(repositories).iterator(), out);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,211 @@
+package com.github.explorer.service;
+
+import com.github.explorer.metrics.LookupMetrics;
+import com.github.explorer.module.Github;
+import com.github.explorer.repo.GithubBatchWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindQueueTest {
+
+    @Mock
+    private GithubBatchWriter githubBatchWriter;
+
+    @Test
+    void testDisabledQueueRejectsWrites() {
+        WriteBehindQueue queue = new WriteBehindQueue(new WriteBehindProperties(), githubBatchWriter, new LookupMetrics(new SimpleMeterRegistry()));
+        queue.start();
+
+        assertThat(queue.enqueue(github("octocat/Hello-World"))).isFalse();
+        verifyNoInteractions(githubBatchWriter);
+    }
+
+    @Test
+    void testFlushesFullBatchAndKeepsEntriesReadableUntilWritten() {
+        WriteBehindProperties properties = enabledProperties();
+        properties.setBatchSize(2);
+        properties.setFlushInterval(Duration.ofSeconds(10));
+        WriteBehindQueue queue = new WriteBehindQueue(properties, githubBatchWriter, new LookupMetrics(new SimpleMeterRegistry()));
+        queue.start();
+        try {
+            Github first = github("octocat/first");
+            queue.enqueue(first);
+            assertThat(queue.pending("octocat/first")).isSameAs(first);
+            queue.enqueue(github("octocat/second"));
+
+            ArgumentCaptor<List<Github>> batch = ArgumentCaptor.captor();
+            verify(githubBatchWriter, timeout(2000)).upsertAll(batch.capture());
+            assertThat(batch.getValue().size()).isEqualTo(2);
+        } finally {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void testStopDrainsQueue() {
+        WriteBehindProperties properties = enabledProperties();
+        properties.setFlushInterval(Duration.ofSeconds(10));
+        WriteBehindQueue queue = new WriteBehindQueue(properties, githubBatchWriter, new LookupMetrics(new SimpleMeterRegistry()));
+        queue.start();
+
+        queue.enqueue(github("octocat/Hello-World"));
+        queue.stop();
+
+        verify(githubBatchWriter).upsertAll(anyList());
+        assertThat(queue.size()).isEqualTo(0);
+        assertThat(queue.pending("octocat/Hello-World")).isNull();
+    }
+
+    @Test
+    void testEveryAcceptedWriteIsFlushedWhenStoppingConcurrently() throws Exception {
+        WriteBehindProperties properties = enabledProperties();
+        properties.setBatchSize(16);
+        Set<String> written = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            List<Github> batch = invocation.getArgument(0);
+            batch.forEach(github -> written.add(github.getId()));
+            return null;
+        }).when(githubBatchWriter).upsertAll(anyList());
+        WriteBehindQueue queue = new WriteBehindQueue(properties, githubBatchWriter, new LookupMetrics(new SimpleMeterRegistry()));
+        queue.start();
+        Set<String> accepted = ConcurrentHashMap.newKeySet();
+        CountDownLatch started = new CountDownLatch(4);
+
+        List<Thread> producers = IntStream.range(0, 4).mapToObj(producer -> Thread.ofVirtual().start(() -> {
+            started.countDown();
+            for (int i = 0; i < 2_000; i++) {
+                String id = "octocat/repository-" + producer + "-" + i;
+                if (queue.enqueue(github(id))) {
+                    accepted.add(id);
+                }
+            }
+        })).toList();
+        started.await();
+        queue.stop();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertThat(written.containsAll(accepted)).isTrue();
+        assertThat(queue.enqueue(github("octocat/late"))).isFalse();
+    }
+
+    @Test
+    void testFullQueueAsksCallerToWriteInline() throws Exception {
+        WriteBehindProperties properties = enabledProperties();
+        properties.setCapacity(1);
+        properties.setBatchSize(1);
+        properties.setOfferTimeout(Duration.ofMillis(10));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(githubBatchWriter).upsertAll(anyList());
+        WriteBehindQueue queue = new WriteBehindQueue(properties, githubBatchWriter, new LookupMetrics(new SimpleMeterRegistry()));
+        queue.start();
+        try {
+            assertThat(queue.enqueue(github("octocat/first"))).isTrue();
+            writing.await();
+            assertThat(queue.enqueue(github("octocat/second"))).isTrue();
+
+            assertThat(queue.enqueue(github("octocat/third"))).isFalse();
+            assertThat(queue.pending("octocat/third")).isNull();
+        } finally {
+            release.countDown();
+            queue.stop();
+        }
+    }
+
+    @Test
+    void testOnlyLatestQueuedCopyIsWritten() {
+        WriteBehindProperties properties = enabledProperties();
+        properties.setFlushInterval(Duration.ofSeconds(10));
+        WriteBehindQueue queue = new WriteBehindQueue(properties, githubBatchWriter, new LookupMetrics(new SimpleMeterRegistry()));
+        queue.start();
+
+        queue.enqueue(github("octocat/Hello-World"));
+        Github latest = github("octocat/Hello-World");
+        queue.enqueue(latest);
+        queue.stop();
+
+        verify(githubBatchWriter).upsertAll(List.of(latest));
+        verifyNoMoreInteractions(githubBatchWriter);
+    }
+
+    @Test
+    void testWriteThroughDropsQueuedCopy() {
+        WriteBehindProperties properties = enabledProperties();
+        properties.setFlushInterval(Duration.ofSeconds(10));
+        WriteBehindQueue queue = new WriteBehindQueue(properties, githubBatchWriter, new LookupMetrics(new SimpleMeterRegistry()));
+        queue.start();
+        Runnable delete = mock(Runnable.class);
+
+        queue.enqueue(github("octocat/Hello-World"));
+        queue.writeThrough("octocat/Hello-World", delete);
+        queue.stop();
+
+        verify(delete).run();
+        assertThat(queue.pending("octocat/Hello-World")).isNull();
+        verifyNoInteractions(githubBatchWriter);
+    }
+
+    @Test
+    void testWriteThroughWaitsForBatchInFlight() throws Exception {
+        WriteBehindProperties properties = enabledProperties();
+        properties.setBatchSize(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> writes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            writes.add("batch");
+            return null;
+        }).when(githubBatchWriter).upsertAll(anyList());
+        WriteBehindQueue queue = new WriteBehindQueue(properties, githubBatchWriter, new LookupMetrics(new SimpleMeterRegistry()));
+        queue.start();
+        try {
+            queue.enqueue(github("octocat/Hello-World"));
+            writing.await();
+            Thread direct = Thread.ofVirtual().start(() -> queue.writeThrough("octocat/Hello-World", () -> writes.add("direct")));
+            direct.join(100);
+            release.countDown();
+            direct.join();
+
+            assertThat(writes).isEqualTo(List.of("batch", "direct"));
+        } finally {
+            release.countDown();
+            queue.stop();
+        }
+    }
+
+    private static WriteBehindProperties enabledProperties() {
+        WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setEnabled(true);
+        return properties;
+    }
+
+    private static Github github(String id) {
+        Github github = new Github();
+        github.setId(id);
+        return github;
+    }
+}
@@ -0,0 +1,336 @@
+package com.github.explorer.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the {@code GET /repos/{owner}/{repo}} endpoint of the GitHub REST API, built on the JDK
+ * {@link HttpServer}, for integration and load tests that must not call api.github.com.
+ * <p>
+ * {@code POST /graphql} answers queries made of aliased {@code repository(owner: $o, name: $n)} fields with the
+ * same synthetic repositories, reporting missing ones as {@code NOT_FOUND} errors; each query costs one request
+ * of the rate-limit budget regardless of how many repositories it asks for.
+ * <p>
+ * Every repository exists and gets a synthetic payload derived from its name, unless it was registered as
+ * missing or falls into the configured 404 rate. Responses carry {@code ETag} and the GitHub rate-limit headers,
+ * honour {@code If-None-Match}, and are delayed according to a {@link LatencyDistribution}. Random outcomes are
+ * drawn per repository id, so the same id always gets the same answer.
+ */
+public final class GithubApiStub implements AutoCloseable {
+
+    private static final String REPOSITORY_PATH = "/repos/";
+    private static final String GRAPHQL_PATH = "/graphql";
+    private static final Pattern REPOSITORY_FIELD =
+            Pattern.compile("(\\w+)\\s*:\\s*repository\\(owner:\\s*\\$(\\w+),\\s*name:\\s*\\$(\\w+)\\)");
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Builder settings;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong graphqlRequests = new AtomicLong();
+    private final ReentrantLock budgetLock = new ReentrantLock();
+    private long budgetRemaining;
+    private Instant budgetResetAt;
+
+    private GithubApiStub(Builder settings) throws IOException {
+        this.settings = settings;
+        this.budgetRemaining = settings.rateLimit;
+        this.budgetResetAt = settings.clock.instant().plus(settings.rateLimitWindow);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", settings.port), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext(REPOSITORY_PATH, this::handle);
+        this.server.createContext(GRAPHQL_PATH, this::handleGraphql);
+        this.server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the URL to use as {@code explorer.upstream.base-url}.
+     *
+     * @return the base URL of the stub
+     */
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the number of repository requests the stub has received.
+     *
+     * @return the request count
+     */
+    public long requestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the number of GraphQL queries the stub has received; they are not part of {@link #requestCount()}.
+     *
+     * @return the GraphQL query count
+     */
+    public long graphqlRequestCount() {
+        return graphqlRequests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            String repositoryId = exchange.getRequestURI().getPath().substring(REPOSITORY_PATH.length());
+            if (!"GET".equals(exchange.getRequestMethod()) || repositoryId.split("/").length != 2) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            SplittableRandom random = new SplittableRandom(repositoryId.hashCode() ^ settings.seed);
+            sleep(settings.latency.sample(new SplittableRandom()));
+
+            long remaining = takeFromBudget();
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.getResponseHeaders().set("X-RateLimit-Limit", String.valueOf(settings.rateLimit));
+            exchange.getResponseHeaders().set("X-RateLimit-Remaining", String.valueOf(Math.max(remaining, 0)));
+            exchange.getResponseHeaders().set("X-RateLimit-Reset", String.valueOf(budgetResetAt.getEpochSecond()));
+            if (remaining < 0) {
+                send(exchange, 403, "{\"message\":\"API rate limit exceeded\"}");
+                return;
+            }
+
+            double outcome = random.nextDouble();
+            if (settings.missing.contains(repositoryId) || outcome < settings.notFoundRate) {
+                send(exchange, 404, "{\"message\":\"Not Found\"}");
+                return;
+            }
+            if (outcome < settings.notFoundRate + settings.forbiddenRate) {
+                send(exchange, 403, "{\"message\":\"Repository access blocked\"}");
+                return;
+            }
+
+            String etag = "\"" + Integer.toHexString(repositoryId.hashCode()) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            send(exchange, 200, payload(repositoryId, random));
+        }
+    }
+
+    private void handleGraphql(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            graphqlRequests.incrementAndGet();
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            JsonNode request = JSON.readTree(exchange.getRequestBody());
+            sleep(settings.latency.sample(new SplittableRandom()));
+
+            long remaining = takeFromBudget();
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.getResponseHeaders().set("X-RateLimit-Remaining", String.valueOf(Math.max(remaining, 0)));
+            exchange.getResponseHeaders().set("X-RateLimit-Reset", String.valueOf(budgetResetAt.getEpochSecond()));
+            if (remaining < 0) {
+                send(exchange, 200, "{\"errors\":[{\"type\":\"RATE_LIMITED\",\"message\":\"API rate limit exceeded\"}]}");
+                return;
+            }
+
+            ObjectNode data = JSON.createObjectNode();
+            ArrayNode errors = JSON.createArrayNode();
+            Matcher field = REPOSITORY_FIELD.matcher(request.path("query").asText());
+            while (field.find()) {
+                String alias = field.group(1);
+                String repositoryId = request.path("variables").path(field.group(2)).asText()
+                        + "/" + request.path("variables").path(field.group(3)).asText();
+                SplittableRandom random = new SplittableRandom(repositoryId.hashCode() ^ settings.seed);
+                double outcome = random.nextDouble();
+                if (settings.missing.contains(repositoryId) || outcome < settings.notFoundRate + settings.forbiddenRate) {
+                    data.putNull(alias);
+                    errors.addObject()
+                            .put("type", outcome < settings.notFoundRate || settings.missing.contains(repositoryId)
+                                    ? "NOT_FOUND" : "FORBIDDEN")
+                            .put("message", "Could not resolve to a Repository with the name '" + repositoryId + "'.")
+                            .putArray("path").add(alias);
+                    continue;
+                }
+                Synthetic synthetic = synthetic(repositoryId, random);
+                data.putObject(alias)
+                        .put("nameWithOwner", repositoryId)
+                        .put("description", "Synthetic repository " + repositoryId)
+                        .put("url", "https://github.com/" + repositoryId)
+                        .put("stargazerCount", synthetic.stars())
+                        .put("createdAt", synthetic.createdAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z");
+            }
+            ObjectNode response = JSON.createObjectNode();
+            response.set("data", data);
+            if (!errors.isEmpty()) {
+                response.set("errors", errors);
+            }
+            send(exchange, 200, JSON.writeValueAsString(response));
+        }
+    }
+
+    private long takeFromBudget() {
+        budgetLock.lock();
+        try {
+            Instant now = settings.clock.instant();
+            if (!now.isBefore(budgetResetAt)) {
+                budgetRemaining = settings.rateLimit;
+                budgetResetAt = now.plus(settings.rateLimitWindow);
+            }
+            return --budgetRemaining;
+        } finally {
+            budgetLock.unlock();
+        }
+    }
+
+    private static Synthetic synthetic(String repositoryId, SplittableRandom random) {
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(
+                random.nextLong(1_200_000_000L, 1_700_000_000L), 0, ZoneOffset.UTC);
+        return new Synthetic(random.nextInt(100_000), createdAt);
+    }
+
+    private static String payload(String repositoryId, SplittableRandom random) {
+        Synthetic synthetic = synthetic(repositoryId, random);
+        return """
+                {"id":%d,"name":"%s","full_name":"%s","private":false,"description":"Synthetic repository %s",\
+                "clone_url":"https://github.com/%s.git","stargazers_count":%d,"created_at":"%sZ"}"""
+                .formatted(Math.abs(repositoryId.hashCode()), repositoryId.substring(repositoryId.indexOf('/') + 1),
+                        repositoryId, repositoryId, repositoryId, synthetic.stars(),
+                        synthetic.createdAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+    }
+
+    private record Synthetic(int stars, LocalDateTime createdAt) {
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(Duration latency) {
+        if (latency.isZero() || latency.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static final class Builder {
+
+        private int port;
+        private LatencyDistribution latency = LatencyDistribution.none();
+        private double notFoundRate;
+        private double forbiddenRate;
+        private long rateLimit = 5_000;
+        private Duration rateLimitWindow = Duration.ofHours(1);
+        private final Set<String> missing = new HashSet<>();
+        private long seed;
+        private Clock clock = Clock.systemUTC();
+
+        private Builder() {
+        }
+
+        /**
+         * Port to listen on; 0, the default, picks a free port.
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder latency(LatencyDistribution latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * Share of repository ids, between 0 and 1, that do not exist.
+         */
+        public Builder notFoundRate(double notFoundRate) {
+            this.notFoundRate = notFoundRate;
+            return this;
+        }
+
+        /**
+         * Share of repository ids, between 0 and 1, that are answered with a 403 that is not a rate-limit error.
+         */
+        public Builder forbiddenRate(double forbiddenRate) {
+            this.forbiddenRate = forbiddenRate;
+            return this;
+        }
+
+        /**
+         * Number of requests allowed per window; further requests get a rate-limit 403 until the window resets.
+         */
+        public Builder rateLimit(long requests, Duration window) {
+            this.rateLimit = requests;
+            this.rateLimitWindow = window;
+            return this;
+        }
+
+        public Builder missing(String... repositoryIds) {
+            this.missing.addAll(Set.of(repositoryIds));
+            return this;
+        }
+
+        /**
+         * Seed that, together with the repository id, decides the outcome and payload of each repository.
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Starts the stub.
+         *
+         * @return the running stub; close it to stop the server
+         * @throws IOException if the port cannot be bound
+         */
+        public GithubApiStub start() throws IOException {
+            return new GithubApiStub(this);
+        }
+    }
+}
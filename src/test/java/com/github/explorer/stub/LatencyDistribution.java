@@ -0,0 +1,69 @@
+package com.github.explorer.stub;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Response delay added by {@link GithubApiStub} before it answers a request.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * Draws the delay for one response.
+     *
+     * @param random the random source to draw from
+     * @return the delay, never negative
+     */
+    Duration sample(RandomGenerator random);
+
+    static LatencyDistribution none() {
+        return random -> Duration.ZERO;
+    }
+
+    static LatencyDistribution fixed(Duration latency) {
+        return random -> latency;
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long minNanos = min.toNanos();
+        long maxNanos = max.toNanos();
+        return random -> Duration.ofNanos(minNanos == maxNanos ? minNanos : random.nextLong(minNanos, maxNanos));
+    }
+
+    /**
+     * A log-normal distribution, which matches the long right tail of real network latencies.
+     *
+     * @param median the 50th percentile
+     * @param p99    the 99th percentile; must not be below the median
+     * @return the distribution
+     */
+    static LatencyDistribution logNormal(Duration median, Duration p99) {
+        double mu = Math.log(median.toNanos());
+        // z-score of the 99th percentile of the standard normal distribution
+        double sigma = (Math.log(p99.toNanos()) - mu) / 2.326;
+        return random -> Duration.ofNanos((long) Math.exp(mu + sigma * random.nextGaussian()));
+    }
+
+    /**
+     * Parses {@code 0}, {@code fixed:<duration>}, {@code uniform:<min>:<max>} or {@code lognormal:<median>:<p99>},
+     * with durations in ISO-8601 or as plain milliseconds.
+     *
+     * @param spec the distribution spec
+     * @return the distribution
+     */
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        return switch (parts[0].toLowerCase()) {
+            case "0", "none" -> none();
+            case "fixed" -> fixed(duration(parts[1]));
+            case "uniform" -> uniform(duration(parts[1]), duration(parts[2]));
+            case "lognormal" -> logNormal(duration(parts[1]), duration(parts[2]));
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        };
+    }
+
+    private static Duration duration(String value) {
+        return value.startsWith("P") || value.startsWith("p") ? Duration.parse(value) : Duration.ofMillis(Long.parseLong(value));
+    }
+}
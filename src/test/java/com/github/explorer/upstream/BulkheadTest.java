@@ -0,0 +1,71 @@
+package com.github.explorer.upstream;
+
+import com.github.explorer.exception.UpstreamUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class BulkheadTest {
+
+    private Bulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.getBulkhead().setMaxConcurrentCalls(2);
+        // Long enough that a test relying on an explicit zero wait would hang if it were ignored
+        properties.getBulkhead().setMaxWait(Duration.ofSeconds(10));
+        bulkhead = new Bulkhead(properties);
+    }
+
+    @Test
+    void testRejectsCallsBeyondLimit() {
+        bulkhead.acquire(Duration.ZERO);
+        bulkhead.acquire(Duration.ZERO);
+
+        assertThatThrownBy(() -> bulkhead.acquire(Duration.ofMillis(20)))
+                .isInstanceOf(UpstreamUnavailableException.class);
+        assertThat(bulkhead.inUse()).isEqualTo(2);
+        assertThat(bulkhead.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testZeroWaitNeverBlocks() {
+        bulkhead.acquire(Duration.ZERO);
+        bulkhead.acquire(Duration.ZERO);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () ->
+                assertThatThrownBy(() -> bulkhead.acquire(Duration.ZERO))
+                        .isInstanceOf(UpstreamUnavailableException.class));
+    }
+
+    @Test
+    void testInterruptIsRejectedAndKeepsFlag() {
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> bulkhead.acquire())
+                    .isInstanceOf(UpstreamUnavailableException.class);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+            assertThat(bulkhead.inUse()).isZero();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void testReleaseFreesSlot() {
+        bulkhead.acquire(Duration.ZERO);
+        bulkhead.acquire(Duration.ZERO);
+
+        bulkhead.release();
+
+        assertThat(bulkhead.inUse()).isEqualTo(1);
+        assertThatCode(() -> bulkhead.acquire(Duration.ZERO)).doesNotThrowAnyException();
+    }
+}
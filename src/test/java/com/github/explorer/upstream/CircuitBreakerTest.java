@@ -0,0 +1,126 @@
+package com.github.explorer.upstream;
+
+import com.github.explorer.exception.UpstreamUnavailableException;
+import com.github.explorer.upstream.CircuitBreaker.Outcome;
+import com.github.explorer.upstream.CircuitBreaker.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.getCircuitBreaker().setWindowSize(4);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        properties.getCircuitBreaker().setFailureRateThreshold(50);
+        properties.getCircuitBreaker().setSlowCallThreshold(Duration.ofSeconds(1));
+        properties.getCircuitBreaker().setSlowCallRateThreshold(75);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofSeconds(10));
+        properties.getCircuitBreaker().setHalfOpenCalls(2);
+        circuitBreaker = new CircuitBreaker(properties, nanoTime::get);
+    }
+
+    @Test
+    void testOpensAtFailureRateOnceMinimumCallsRecorded() {
+        call(Outcome.FAILURE);
+        call(Outcome.FAILURE);
+        call(Outcome.IGNORED);
+        assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+
+        call(Outcome.SUCCESS);
+        call(Outcome.SUCCESS);
+
+        assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+        assertThatThrownBy(circuitBreaker::acquirePermission).isInstanceOf(UpstreamUnavailableException.class);
+        assertThat(circuitBreaker.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testOpensAtSlowCallRate() {
+        for (int i = 0; i < 3; i++) {
+            call(Outcome.SUCCESS, Duration.ofSeconds(2));
+        }
+        call(Outcome.SUCCESS);
+
+        assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void testOldOutcomesLeaveTheWindow() {
+        call(Outcome.FAILURE);
+        for (int i = 0; i < 10; i++) {
+            call(Outcome.SUCCESS);
+        }
+        call(Outcome.FAILURE);
+
+        assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void testHalfOpenClosesAfterSuccessfulTrials() {
+        open();
+        nanoTime.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        circuitBreaker.acquirePermission();
+        circuitBreaker.acquirePermission();
+        assertThat(circuitBreaker.state()).isEqualTo(State.HALF_OPEN);
+        assertThatThrownBy(circuitBreaker::acquirePermission).isInstanceOf(UpstreamUnavailableException.class);
+        circuitBreaker.record(Outcome.SUCCESS, 0);
+        circuitBreaker.record(Outcome.SUCCESS, 0);
+
+        assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+        call(Outcome.FAILURE);
+        assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void testHalfOpenReopensWhenTrialsFail() {
+        open();
+        nanoTime.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        call(Outcome.FAILURE);
+        call(Outcome.SUCCESS);
+
+        assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+        assertThatThrownBy(circuitBreaker::acquirePermission).isInstanceOf(UpstreamUnavailableException.class);
+    }
+
+    @Test
+    void testIgnoredTrialFreesItsSlot() {
+        open();
+        nanoTime.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        call(Outcome.IGNORED);
+        call(Outcome.IGNORED);
+        call(Outcome.SUCCESS);
+        call(Outcome.SUCCESS);
+
+        assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(Outcome.FAILURE);
+        }
+        assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+    }
+
+    private void call(Outcome outcome) {
+        call(outcome, Duration.ZERO);
+    }
+
+    private void call(Outcome outcome, Duration duration) {
+        circuitBreaker.acquirePermission();
+        circuitBreaker.record(outcome, duration.toNanos());
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.explorer.upstream;
+
+import com.github.explorer.module.Github;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamClientConfigurationTest {
+
+    private static final String BODY = "{\"full_name\":\"octocat/Hello-World\",\"stargazers_count\":42}";
+
+    private HttpServer server;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/repos/octocat/Hello-World", exchange -> {
+            boolean gzip = "gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            byte[] body = gzip ? gzip(BODY) : BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if (gzip) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void testGzipResponseIsDecompressed() {
+        RestTemplate restTemplate = restTemplate(new UpstreamProperties());
+
+        Github github = restTemplate.getForObject(url("/repos/octocat/Hello-World"), Github.class);
+
+        assertThat(github.getFullName()).isEqualTo("octocat/Hello-World");
+        assertThat(github.getStars()).isEqualTo(42);
+    }
+
+    @Test
+    void testRouteConnectionLimitFailsFastWhenExhausted() throws Exception {
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.setMaxConnectionsPerRoute(1);
+        properties.setConnectionAcquireTimeout(Duration.ofMillis(50));
+        RestTemplate restTemplate = restTemplate(properties);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> occupying = executor.submit(() -> restTemplate.getForEntity(url("/slow"), Void.class));
+            Thread.sleep(200);
+
+            assertThatThrownBy(() -> restTemplate.getForObject(url("/repos/octocat/Hello-World"), Github.class))
+                    .isInstanceOf(ResourceAccessException.class)
+                    .hasMessageContaining("No free upstream connection");
+
+            release.countDown();
+            occupying.get();
+        }
+        assertThat(restTemplate.getForObject(url("/repos/octocat/Hello-World"), Github.class)).isNotNull();
+    }
+
+    private RestTemplate restTemplate(UpstreamProperties properties) {
+        UpstreamClientConfiguration configuration = new UpstreamClientConfiguration();
+        return configuration.githubRestTemplate(new RestTemplateBuilder(),
+                configuration.githubHttpClient(properties), properties);
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    private static byte[] gzip(String value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.explorer.upstream;
+
+import com.github.explorer.exception.RateLimitExceededException;
+import com.github.explorer.upstream.UpstreamScheduler.Priority;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamSchedulerTest {
+
+    @Test
+    void testInteractiveWaitsForTokenWithinMaxWait() {
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setRequestsPerSecond(20);
+        properties.getRateLimit().setMaxWait(Duration.ofMillis(200));
+        UpstreamScheduler scheduler = new UpstreamScheduler(properties);
+
+        scheduler.acquire(Priority.INTERACTIVE);
+        long start = System.nanoTime();
+        scheduler.acquire(Priority.INTERACTIVE);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(30));
+    }
+
+    @Test
+    void testInteractiveFailsFastWhenWaitTooLong() {
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setRequestsPerSecond(1);
+        properties.getRateLimit().setMaxWait(Duration.ofMillis(10));
+        UpstreamScheduler scheduler = new UpstreamScheduler(properties);
+
+        scheduler.acquire(Priority.INTERACTIVE);
+
+        assertThatThrownBy(() -> scheduler.acquire(Priority.INTERACTIVE))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void testReleasedTokenCanBeTakenAgain() {
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setRequestsPerSecond(1);
+        properties.getRateLimit().setMaxWait(Duration.ofMillis(10));
+        UpstreamScheduler scheduler = new UpstreamScheduler(properties);
+
+        scheduler.acquire(Priority.INTERACTIVE);
+        scheduler.release();
+
+        assertThatCode(() -> scheduler.acquire(Priority.INTERACTIVE)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void testBackgroundYieldsToReservedInteractiveTokens() {
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setRequestsPerSecond(1);
+        properties.getRateLimit().setMaxWait(Duration.ofSeconds(2));
+        UpstreamScheduler scheduler = new UpstreamScheduler(properties);
+
+        scheduler.acquire(Priority.INTERACTIVE);
+
+        assertThatThrownBy(() -> scheduler.acquire(Priority.BACKGROUND))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void testBackgroundSkippedBelowReserve() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(new UpstreamProperties());
+        scheduler.recordResponse(rateLimitHeaders(50, Instant.now().plusSeconds(600)));
+
+        assertThatThrownBy(() -> scheduler.acquire(Priority.BACKGROUND))
+                .isInstanceOf(RateLimitExceededException.class);
+        scheduler.acquire(Priority.INTERACTIVE);
+        assertThat(scheduler.remaining()).isEqualTo(50);
+    }
+
+    @Test
+    void testExhaustedBudgetFailsFastUntilReset() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(new UpstreamProperties());
+        Instant reset = Instant.now().plusSeconds(600);
+        scheduler.recordResponse(rateLimitHeaders(0, reset));
+
+        assertThatThrownBy(() -> scheduler.acquire(Priority.INTERACTIVE))
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting(e -> ((RateLimitExceededException) e).getRetryAt())
+                .isEqualTo(Instant.ofEpochSecond(reset.getEpochSecond()));
+
+        scheduler.recordResponse(rateLimitHeaders(0, Instant.now().minusSeconds(1)));
+        scheduler.acquire(Priority.INTERACTIVE);
+    }
+
+    @Test
+    void testSecondaryRateLimitRecognised() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(new UpstreamProperties());
+        HttpHeaders retryAfter = new HttpHeaders();
+        retryAfter.set(HttpHeaders.RETRY_AFTER, "30");
+
+        assertThat(scheduler.isRateLimited(HttpStatus.TOO_MANY_REQUESTS, HttpHeaders.EMPTY)).isTrue();
+        assertThat(scheduler.isRateLimited(HttpStatus.FORBIDDEN, retryAfter)).isTrue();
+        assertThat(scheduler.isRateLimited(HttpStatus.FORBIDDEN, rateLimitHeaders(0, Instant.now()))).isTrue();
+        assertThat(scheduler.isRateLimited(HttpStatus.FORBIDDEN, rateLimitHeaders(10, Instant.now()))).isFalse();
+        assertThat(scheduler.isRateLimited(HttpStatus.SERVICE_UNAVAILABLE, retryAfter)).isFalse();
+    }
+
+    @Test
+    void testRateLimitedPausesUntilRetryAfter() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(new UpstreamProperties());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "Wed, 21 Oct 2099 07:28:00 GMT");
+
+        Instant retryAt = scheduler.recordRateLimited(headers);
+
+        assertThat(retryAt).isEqualTo(Instant.parse("2099-10-21T07:28:00Z"));
+        assertThatThrownBy(() -> scheduler.acquire(Priority.INTERACTIVE))
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting(e -> ((RateLimitExceededException) e).getRetryAt())
+                .isEqualTo(retryAt);
+    }
+
+    private static HttpHeaders rateLimitHeaders(long remaining, Instant reset) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(UpstreamScheduler.RATE_LIMIT_REMAINING, String.valueOf(remaining));
+        headers.set(UpstreamScheduler.RATE_LIMIT_RESET, String.valueOf(reset.getEpochSecond()));
+        return headers;
+    }
+}